@@ -0,0 +1,212 @@
+package com.sheepion.demo.cache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.sheepion.demo.mapper.ProductMapper;
+import com.sheepion.demo.model.Product;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory cache of recently read products, keyed by uuid, that survives
+ * restarts through a {@link ProductSnapshotFile}.
+ * <p>
+ * On startup the snapshot is mapped, not read. A product found there is served
+ * once, moved into the cache and queued; the queue is revalidated in batches
+ * against {@code updated_at} and stale or deleted products are evicted. So a
+ * product changed while the node was down is served stale for at most
+ * {@code revalidateMillis}, and the database sees one query per batch instead
+ * of one per product. Once every snapshot record has been taken the snapshot
+ * is dropped, and a miss no longer looks at it.
+ * <p>
+ * Reads are counted in {@code product.cache.reads} tagged by source, to compare
+ * the database load after a restart with and without the snapshot.
+ */
+@Slf4j
+@Component
+public class ProductCache {
+    private final ProductCacheProperties properties;
+    private final ProductMapper productMapper;
+
+    private final LRUCache<String, Product> cache;
+    // uuid -> updatedAt from the snapshot, not yet checked against the database
+    private final Map<String, LocalDateTime> pendingRevalidation = new ConcurrentHashMap<>();
+    private volatile ProductSnapshotFile snapshot;
+    // the scheduled and the shutdown write may overlap
+    private final Object snapshotWriteLock = new Object();
+
+    private final Counter cacheHits;
+    private final Counter snapshotHits;
+    private final Counter misses;
+
+    public ProductCache(ProductCacheProperties properties, ProductMapper productMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.productMapper = productMapper;
+        this.cache = CacheUtil.newLRUCache(properties.getCapacity(), properties.getTtlMillis());
+        this.cacheHits = meterRegistry.counter("product.cache.reads", "source", "cache");
+        this.snapshotHits = meterRegistry.counter("product.cache.reads", "source", "snapshot");
+        this.misses = meterRegistry.counter("product.cache.reads", "source", "database");
+    }
+
+    /**
+     * @param uuid product uuid
+     * @return the cached product, or null if the caller should read the database
+     */
+    public Product get(String uuid) {
+        Product product = cache.get(uuid, false);
+        if (product != null) {
+            cacheHits.increment();
+            return product;
+        }
+        ProductSnapshotFile current = snapshot;
+        if (current != null) {
+            product = current.take(uuid);
+            if (current.isExhausted()) {
+                snapshot = null;
+            }
+            if (product != null) {
+                snapshotHits.increment();
+                cache.put(uuid, product);
+                // never equal to a database value, so a missing updatedAt gets evicted
+                pendingRevalidation.put(uuid, Objects.requireNonNullElse(product.getUpdatedAt(), LocalDateTime.MIN));
+                return product;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(Product product) {
+        if (product != null && product.getUuid() != null) {
+            cache.put(product.getUuid(), product);
+        }
+    }
+
+    public void invalidate(String uuid) {
+        cache.remove(uuid);
+        pendingRevalidation.remove(uuid);
+    }
+
+    /**
+     * Drop cached products with an id in {@code [startId, endId)}, e.g. after a
+     * bulk job changed them. The snapshot is dropped too, it was written before
+     * the change and can't be searched by id.
+     * <p>
+     * Only this node's cache is affected, other nodes serve the old products
+     * for up to {@code ttlMillis}.
+     */
+    public void invalidateIdRange(long startId, long endId) {
+        snapshot = null;
+        List<String> uuids = new ArrayList<>();
+        for (Product product : cache) {
+            Long id = product.getId();
+            if (id != null && id >= startId && id < endId) {
+                uuids.add(product.getUuid());
+            }
+        }
+        for (String uuid : uuids) {
+            invalidate(uuid);
+        }
+    }
+
+    @PostConstruct
+    public void loadSnapshot() {
+        if (!properties.isSnapshotEnabled()) {
+            return;
+        }
+        Path path = Path.of(properties.getSnapshotPath());
+        try {
+            ProductSnapshotFile loaded = ProductSnapshotFile.load(path);
+            if (loaded != null) {
+                log.info("Product snapshot loaded, {} products from {}", loaded.size(), path);
+                snapshot = loaded.isExhausted() ? null : loaded;
+            }
+        } catch (IOException e) {
+            // a bad snapshot only costs a cold start
+            log.warn("Product snapshot ignored: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        writeSnapshot();
+    }
+
+    /**
+     * Write the cached products to the snapshot file.
+     */
+    @Scheduled(fixedRateString = "${demo.product-cache.snapshot-millis:300000}",
+            initialDelayString = "${demo.product-cache.snapshot-millis:300000}")
+    public void writeSnapshot() {
+        if (!properties.isSnapshotEnabled()) {
+            return;
+        }
+        List<Product> products = new ArrayList<>(cache.size());
+        for (Product product : cache) {
+            // unverified products would be written back with the same risk
+            if (!pendingRevalidation.containsKey(product.getUuid())) {
+                products.add(product);
+            }
+        }
+        Path path = Path.of(properties.getSnapshotPath());
+        synchronized (snapshotWriteLock) {
+            try {
+                int written = ProductSnapshotFile.write(path, products);
+                log.debug("Product snapshot written, {} products to {}", written, path);
+            } catch (IOException e) {
+                log.warn("Failed to write product snapshot to {}", path, e);
+            }
+        }
+    }
+
+    /**
+     * Check products served from the snapshot against the database, evicting
+     * those updated or deleted since the snapshot was written.
+     */
+    @Scheduled(fixedDelayString = "${demo.product-cache.revalidate-millis:1000}")
+    public void revalidate() {
+        if (pendingRevalidation.isEmpty()) {
+            return;
+        }
+        Map<String, LocalDateTime> batch = new HashMap<>();
+        for (Map.Entry<String, LocalDateTime> entry : pendingRevalidation.entrySet()) {
+            if (batch.size() >= properties.getRevalidateBatchSize()) {
+                break;
+            }
+            batch.put(entry.getKey(), entry.getValue());
+        }
+
+        Map<String, Product> versions = new HashMap<>();
+        for (Product version : productMapper.selectVersionsByUuids(batch.keySet())) {
+            versions.put(version.getUuid(), version);
+        }
+        int evicted = 0;
+        for (Map.Entry<String, LocalDateTime> entry : batch.entrySet()) {
+            Product version = versions.get(entry.getKey());
+            if (version == null || Boolean.TRUE.equals(version.getDeleted())
+                    || !Objects.equals(version.getUpdatedAt(), entry.getValue())) {
+                cache.remove(entry.getKey());
+                evicted++;
+            }
+            pendingRevalidation.remove(entry.getKey(), entry.getValue());
+        }
+        log.debug("Revalidated {} snapshot products, {} evicted", batch.size(), evicted);
+    }
+}
@@ -0,0 +1,42 @@
+package com.sheepion.demo.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of {@link ProductCache}, prefix {@code demo.product-cache}.
+ */
+@Data
+@ConfigurationProperties(prefix = "demo.product-cache")
+public class ProductCacheProperties {
+    /**
+     * Max products kept in memory, least recently used are evicted first.
+     */
+    private int capacity = 10_000;
+    /**
+     * How long a cached product is served without reading the database again.
+     */
+    private long ttlMillis = 60_000L;
+    /**
+     * Whether to write the cache to a snapshot file and load it on startup.
+     */
+    private boolean snapshotEnabled = true;
+    /**
+     * Snapshot file location.
+     */
+    private String snapshotPath = "data/product-snapshot.bin";
+    /**
+     * How often to write the snapshot, it is also written at shutdown.
+     */
+    private long snapshotMillis = 300_000L;
+    /**
+     * How often products served from the snapshot are checked against
+     * {@code updated_at} in the database.
+     */
+    private long revalidateMillis = 1_000L;
+    /**
+     * Max uuids checked per revalidation query.
+     */
+    private int revalidateBatchSize = 500;
+}
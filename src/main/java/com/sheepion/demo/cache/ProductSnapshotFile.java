@@ -0,0 +1,381 @@
+package com.sheepion.demo.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.model.Product;
+
+/**
+ * Memory-mapped snapshot of cached products, used to warm the cache after a
+ * restart.
+ * <p>
+ * Layout, big-endian:
+ * 
+ * <pre>
+ * header : int magic, int version, int count
+ * offsets: int[count], file offset of each record
+ * record : byte[36] uuid (ascii), long id, long price (minor units),
+ *          int stockQuantity, byte flags,
+ *          long createdAt seconds, int nanos, long updatedAt seconds, int nanos,
+ *          int name length, utf-8 name, int description length, utf-8 description
+ * </pre>
+ * 
+ * Nullable fields are marked in {@code flags} or by a length of -1, dates are
+ * stored as UTC epoch seconds of the {@link LocalDateTime}.
+ * <p>
+ * Loading only maps the file, checks every record lies within it and builds an
+ * open-addressing {@code int[]} index over the uuid bytes, no object is created
+ * per record until it is read with {@link #take(String)}. Taking is lock-free,
+ * a record is claimed with a CAS on {@code taken}.
+ */
+final class ProductSnapshotFile {
+    private static final int MAGIC = 0x50534E50; // "PSNP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int UUID_BYTES = 36;
+
+    private static final int FLAG_AVAILABLE = 1;
+    private static final int FLAG_AVAILABLE_NULL = 1 << 1;
+    private static final int FLAG_DELETED = 1 << 2;
+    private static final int FLAG_CREATED_AT_NULL = 1 << 3;
+    private static final int FLAG_UPDATED_AT_NULL = 1 << 4;
+    private static final int FLAG_STOCK_NULL = 1 << 5;
+
+    private static final long MIN_SECONDS = LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC);
+    private static final long MAX_SECONDS = LocalDateTime.MAX.toEpochSecond(ZoneOffset.UTC);
+
+    private final MappedByteBuffer buffer;
+    private final int count;
+    // slot -> record number + 1, 0 means empty
+    private final int[] index;
+    // record -> 1 once handed out, so each is decoded at most once
+    private final AtomicIntegerArray taken;
+    private final AtomicInteger remaining;
+
+    private ProductSnapshotFile(MappedByteBuffer buffer, int count) throws IOException {
+        this.buffer = buffer;
+        this.count = count;
+        this.index = new int[tableSize(count)];
+        this.taken = new AtomicIntegerArray(count);
+        this.remaining = new AtomicInteger(count);
+        int mask = index.length - 1;
+        for (int record = 0; record < count; record++) {
+            int offset = recordOffset(record);
+            checkRecord(record, offset);
+            int slot = hashBytes(offset) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = record + 1;
+        }
+    }
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * @return true once every record has been taken, the snapshot is of no
+     *         further use then
+     */
+    boolean isExhausted() {
+        return remaining.get() == 0;
+    }
+
+    /**
+     * Write products to the file, through a temp file and an atomic rename so a
+     * crash never leaves a torn snapshot. Each call gets its own temp file, so
+     * concurrent writers never truncate a file another one has mapped.
+     *
+     * @param path     target file
+     * @param products products to write, those without a 36 char uuid are
+     *                 skipped
+     * @return number of products written
+     */
+    static int write(Path path, Collection<Product> products) throws IOException {
+        List<Product> records = new ArrayList<>(products.size());
+        List<byte[]> names = new ArrayList<>(products.size());
+        List<byte[]> descriptions = new ArrayList<>(products.size());
+        long size = HEADER_BYTES;
+        for (Product product : products) {
+            if (product.getUuid() == null || product.getUuid().length() != UUID_BYTES || product.getId() == null
+                    || product.getPrice() == null) {
+                continue;
+            }
+            byte[] name = product.getName() == null ? null : product.getName().getBytes(StandardCharsets.UTF_8);
+            byte[] description = product.getDescription() == null ? null
+                    : product.getDescription().getBytes(StandardCharsets.UTF_8);
+            records.add(product);
+            names.add(name);
+            descriptions.add(description);
+            size += Integer.BYTES + fixedRecordBytes() + length(name) + length(description);
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Product snapshot too large: " + size + " bytes");
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        // same directory as the target, so the rename stays atomic
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                out.putInt(MAGIC).putInt(VERSION).putInt(records.size());
+                int offset = HEADER_BYTES + records.size() * Integer.BYTES;
+                for (int i = 0; i < records.size(); i++) {
+                    out.putInt(offset);
+                    offset += fixedRecordBytes() + length(names.get(i)) + length(descriptions.get(i));
+                }
+                for (int i = 0; i < records.size(); i++) {
+                    putRecord(out, records.get(i), names.get(i), descriptions.get(i));
+                }
+                out.force();
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return records.size();
+    }
+
+    /**
+     * @param path snapshot file
+     * @return the mapped snapshot, or null if the file does not exist
+     * @throws IOException if the file is not a valid snapshot
+     */
+    static ProductSnapshotFile load(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid product snapshot size: " + size);
+            }
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a product snapshot of version " + VERSION + ": " + path);
+            }
+            int count = buffer.getInt(8);
+            if (count < 0 || HEADER_BYTES + (long) count * Integer.BYTES > size) {
+                throw new IOException("Invalid product snapshot count: " + count);
+            }
+            return new ProductSnapshotFile(buffer, count);
+        }
+    }
+
+    /**
+     * Decode the product with the given uuid, at most once per record.
+     *
+     * @param uuid product uuid
+     * @return the product, or null if not in the snapshot or already taken
+     */
+    Product take(String uuid) {
+        if (uuid == null || uuid.length() != UUID_BYTES || count == 0) {
+            return null;
+        }
+        int mask = index.length - 1;
+        for (int slot = hashChars(uuid) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int record = index[slot] - 1;
+            int offset = recordOffset(record);
+            if (uuidEquals(offset, uuid)) {
+                if (!taken.compareAndSet(record, 0, 1)) {
+                    return null;
+                }
+                remaining.decrementAndGet();
+                return getRecord(offset, uuid);
+            }
+        }
+        return null;
+    }
+
+    private int recordOffset(int record) {
+        return buffer.getInt(HEADER_BYTES + record * Integer.BYTES);
+    }
+
+    /**
+     * Check the record can be decoded without reading past the file, so a
+     * corrupt snapshot fails the load instead of a later {@link #take(String)}.
+     */
+    private void checkRecord(int record, int offset) throws IOException {
+        long size = buffer.capacity();
+        long pos = offset;
+        if (pos < HEADER_BYTES + (long) count * Integer.BYTES || pos + fixedRecordBytes() > size) {
+            throw new IOException("Invalid product snapshot offset of record " + record + ": " + offset);
+        }
+        pos += UUID_BYTES + 21;
+        for (int i = 0; i < 2; i++, pos += Long.BYTES + Integer.BYTES) {
+            long seconds = buffer.getLong((int) pos);
+            int nanos = buffer.getInt((int) pos + Long.BYTES);
+            if (seconds < MIN_SECONDS || seconds > MAX_SECONDS || nanos < 0 || nanos > 999_999_999) {
+                throw new IOException("Invalid product snapshot time in record " + record);
+            }
+        }
+        for (int i = 0; i < 2; i++) {
+            int length = pos + Integer.BYTES <= size ? buffer.getInt((int) pos) : -2;
+            pos += Integer.BYTES + (long) Math.max(length, 0);
+            if (length < -1 || pos > size) {
+                throw new IOException("Invalid product snapshot string length in record " + record);
+            }
+        }
+    }
+
+    private static int fixedRecordBytes() {
+        // uuid, id, price, stock, flags, 2 * (seconds, nanos), 2 * length
+        return UUID_BYTES + Long.BYTES + Long.BYTES + Integer.BYTES + 1 + 2 * (Long.BYTES + Integer.BYTES)
+                + 2 * Integer.BYTES;
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putRecord(ByteBuffer out, Product product, byte[] name, byte[] description) {
+        String uuid = product.getUuid();
+        for (int i = 0; i < UUID_BYTES; i++) {
+            out.put((byte) uuid.charAt(i));
+        }
+        int flags = 0;
+        if (product.getIsAvailable() == null) {
+            flags |= FLAG_AVAILABLE_NULL;
+        } else if (product.getIsAvailable()) {
+            flags |= FLAG_AVAILABLE;
+        }
+        if (Boolean.TRUE.equals(product.getDeleted())) {
+            flags |= FLAG_DELETED;
+        }
+        if (product.getCreatedAt() == null) {
+            flags |= FLAG_CREATED_AT_NULL;
+        }
+        if (product.getUpdatedAt() == null) {
+            flags |= FLAG_UPDATED_AT_NULL;
+        }
+        if (product.getStockQuantity() == null) {
+            flags |= FLAG_STOCK_NULL;
+        }
+        out.putLong(product.getId());
+        out.putLong(product.getPrice().getMinorUnits());
+        out.putInt(product.getStockQuantity() == null ? 0 : product.getStockQuantity());
+        out.put((byte) flags);
+        putTime(out, product.getCreatedAt());
+        putTime(out, product.getUpdatedAt());
+        putBytes(out, name);
+        putBytes(out, description);
+    }
+
+    private static void putTime(ByteBuffer out, LocalDateTime time) {
+        out.putLong(time == null ? 0L : time.toEpochSecond(ZoneOffset.UTC));
+        out.putInt(time == null ? 0 : time.getNano());
+    }
+
+    private static void putBytes(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putInt(-1);
+            return;
+        }
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+
+    private Product getRecord(int offset, String uuid) {
+        int pos = offset + UUID_BYTES;
+        long id = buffer.getLong(pos);
+        long price = buffer.getLong(pos + 8);
+        int stock = buffer.getInt(pos + 16);
+        int flags = buffer.get(pos + 20);
+        pos += 21;
+        LocalDateTime createdAt = (flags & FLAG_CREATED_AT_NULL) != 0 ? null : getTime(pos);
+        pos += Long.BYTES + Integer.BYTES;
+        LocalDateTime updatedAt = (flags & FLAG_UPDATED_AT_NULL) != 0 ? null : getTime(pos);
+        pos += Long.BYTES + Integer.BYTES;
+        int nameLength = buffer.getInt(pos);
+        String name = getString(pos + Integer.BYTES, nameLength);
+        pos += Integer.BYTES + Math.max(nameLength, 0);
+        String description = getString(pos + Integer.BYTES, buffer.getInt(pos));
+
+        Product product = Product.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .price(Money.ofMinor(price))
+                .stockQuantity((flags & FLAG_STOCK_NULL) != 0 ? null : stock)
+                .isAvailable((flags & FLAG_AVAILABLE_NULL) != 0 ? null : (flags & FLAG_AVAILABLE) != 0)
+                .build();
+        product.setUuid(uuid);
+        product.setCreatedAt(createdAt);
+        product.setUpdatedAt(updatedAt);
+        product.setDeleted((flags & FLAG_DELETED) != 0);
+        return product;
+    }
+
+    private LocalDateTime getTime(int pos) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(pos), buffer.getInt(pos + Long.BYTES), ZoneOffset.UTC);
+    }
+
+    private String getString(int pos, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(pos, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int hashBytes(int offset) {
+        int h = 0;
+        for (int i = 0; i < UUID_BYTES; i++) {
+            h = 31 * h + buffer.get(offset + i);
+        }
+        return spread(h);
+    }
+
+    private static int hashChars(String uuid) {
+        // same as hashBytes for ascii
+        int h = 0;
+        for (int i = 0; i < UUID_BYTES; i++) {
+            h = 31 * h + (byte) uuid.charAt(i);
+        }
+        return spread(h);
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        return h ^ (h >>> 13);
+    }
+
+    private boolean uuidEquals(int offset, String uuid) {
+        for (int i = 0; i < UUID_BYTES; i++) {
+            if (buffer.get(offset + i) != (byte) uuid.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int tableSize(int count) {
+        // load factor at most 0.5
+        int size = 2;
+        while (size < count * 2L) {
+            size <<= 1;
+        }
+        return size;
+    }
+}
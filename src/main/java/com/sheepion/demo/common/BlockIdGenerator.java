@@ -0,0 +1,99 @@
+package com.sheepion.demo.common;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+/**
+ * Hands out ids from a PostgreSQL sequence, reserving them a block at a time.
+ * <p>
+ * A block is fetched with one {@code nextval} per id in a single round trip, so
+ * the sequence keeps its increment of 1 and the column default
+ * ({@code BIGSERIAL}) can still be used by anyone else without overlapping. Ids
+ * are unique but not contiguous between nodes, and unused ids of a block are
+ * lost on shutdown.
+ * <p>
+ * Taking an id is one atomic increment; only the thread that finds the block
+ * exhausted takes the lock to fetch the next one.
+ */
+public class BlockIdGenerator {
+    private static final String NEXT_BLOCK_SQL = "SELECT nextval(?::regclass) FROM generate_series(1, ?)";
+
+    private final DataSource dataSource;
+    private final String sequence;
+    private final int blockSize;
+
+    private volatile Block block = new Block(new long[0]);
+
+    /**
+     * @param dataSource datasource
+     * @param sequence   sequence name, e.g. {@code products_id_seq}
+     * @param blockSize  ids reserved per round trip
+     */
+    public BlockIdGenerator(DataSource dataSource, String sequence, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        this.dataSource = dataSource;
+        this.sequence = sequence;
+        this.blockSize = blockSize;
+    }
+
+    public long nextId() {
+        while (true) {
+            Block current = block;
+            int index = current.cursor.getAndIncrement();
+            if (index < current.ids.length) {
+                return current.ids[index];
+            }
+            refill(current);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        // someone else refilled while we waited for the lock
+        if (block != exhausted) {
+            return;
+        }
+        block = new Block(fetch());
+    }
+
+    private long[] fetch() {
+        // participates in the current transaction if there is one, nextval is not rolled back anyway
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement ps = connection.prepareStatement(NEXT_BLOCK_SQL)) {
+            ps.setString(1, sequence);
+            ps.setInt(2, blockSize);
+            long[] ids = new long[blockSize];
+            int count = 0;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids[count++] = rs.getLong(1);
+                }
+            }
+            if (count != blockSize) {
+                throw new IllegalStateException("Expected " + blockSize + " ids from " + sequence + ", got " + count);
+            }
+            return ids;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to reserve ids from " + sequence, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static final class Block {
+        private final long[] ids;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        private Block(long[] ids) {
+            this.ids = ids;
+        }
+    }
+}
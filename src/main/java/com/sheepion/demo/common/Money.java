@@ -0,0 +1,164 @@
+package com.sheepion.demo.common;
+
+import java.io.Serializable;
+
+/**
+ * Fixed-point money amount, stored as a {@code long} count of minor units
+ * (cents), matching the {@code NUMERIC(10, 2)} columns in the database.
+ * <p>
+ * Parsing and formatting are done by hand, so a price never has to pass through
+ * {@link java.math.BigDecimal} on its way between the database, the model and
+ * the client. Amounts with more than {@value #SCALE} significant fraction digits
+ * are rejected instead of being rounded, to keep exact decimal semantics.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+    /**
+     * Number of fraction digits.
+     */
+    public static final int SCALE = 2;
+
+    private static final long MINOR_PER_MAJOR = 100L;
+
+    public static final Money ZERO = new Money(0L);
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    /**
+     * @param minorUnits amount in cents, e.g. 351 for 3.51
+     * @return money
+     */
+    public static Money ofMinor(long minorUnits) {
+        if (minorUnits == 0L) {
+            return ZERO;
+        }
+        if (minorUnits == Long.MIN_VALUE) {
+            throw new ArithmeticException("Money amount out of range");
+        }
+        return new Money(minorUnits);
+    }
+
+    /**
+     * Parse a plain decimal string such as {@code "10"}, {@code "-3.5"} or
+     * {@code "4.20"}.
+     *
+     * @param text decimal text, no exponent or grouping allowed
+     * @return money
+     * @throws IllegalArgumentException if the text is not a plain decimal
+     * @throws ArithmeticException      if the text has more than two non-zero
+     *                                  fraction digits or overflows
+     */
+    public static Money parse(CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Money text cannot be null");
+        }
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+
+        long major = 0L;
+        int integerDigits = 0;
+        for (; i < length && text.charAt(i) != '.'; i++) {
+            major = Math.addExact(Math.multiplyExact(major, 10L), digit(text, i));
+            integerDigits++;
+        }
+
+        long minor = 0L;
+        int fractionDigits = 0;
+        if (i < length) {
+            // skip the '.'
+            i++;
+            for (; i < length; i++) {
+                int d = digit(text, i);
+                if (fractionDigits < SCALE) {
+                    minor = minor * 10L + d;
+                } else if (d != 0) {
+                    throw new ArithmeticException("Money supports at most " + SCALE + " fraction digits: " + text);
+                }
+                fractionDigits++;
+            }
+        }
+        if (integerDigits == 0 && fractionDigits == 0) {
+            throw new IllegalArgumentException("Invalid money: " + text);
+        }
+        for (int pad = Math.min(fractionDigits, SCALE); pad < SCALE; pad++) {
+            minor *= 10L;
+        }
+
+        long total = Math.addExact(Math.multiplyExact(major, MINOR_PER_MAJOR), minor);
+        return ofMinor(negative ? -total : total);
+    }
+
+    private static int digit(CharSequence text, int index) {
+        char c = text.charAt(index);
+        if (c < '0' || c > '9') {
+            throw new IllegalArgumentException("Invalid money: " + text);
+        }
+        return c - '0';
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0L;
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0L;
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money multiply(long quantity) {
+        return ofMinor(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Money other && other.minorUnits == minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    /**
+     * @return plain decimal text with exactly two fraction digits, e.g.
+     *         {@code "3.50"}
+     */
+    @Override
+    public String toString() {
+        long abs = Math.abs(minorUnits);
+        long fraction = abs % MINOR_PER_MAJOR;
+        StringBuilder sb = new StringBuilder(24);
+        if (minorUnits < 0L) {
+            sb.append('-');
+        }
+        sb.append(abs / MINOR_PER_MAJOR).append('.');
+        if (fraction < 10L) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
+    }
+}
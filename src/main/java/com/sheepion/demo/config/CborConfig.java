@@ -0,0 +1,82 @@
+package com.sheepion.demo.config;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Serve {@code application/cbor} next to JSON.
+ * <p>
+ * A client that sends {@code Accept: application/cbor} gets the same
+ * {@code Result}/{@code ProductVo} tree encoded as CBOR, everyone else still
+ * gets JSON, which stays first in the converter list. The CBOR mapper is built
+ * from Spring Boot's {@link Jackson2ObjectMapperBuilder}, so
+ * {@link MoneyJsonComponent} and the {@code spring.jackson.*} settings apply to
+ * both formats. The only difference is {@link LocalDateTime}: it is written as
+ * epoch milliseconds instead of an ISO string.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CborConfig {
+    /**
+     * Timestamps are stored without a zone, in the zone of the server that
+     * wrote them.
+     */
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    /**
+     * Replaces the default CBOR converter of Spring MVC, which uses a plain
+     * mapper without our modules.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(builder));
+    }
+
+    /**
+     * @param builder a (JSON) builder, it is switched to CBOR
+     * @return CBOR mapper writing timestamps as epoch milliseconds
+     */
+    public static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory())
+                .serializerByType(LocalDateTime.class, new EpochMillisSerializer())
+                .deserializerByType(LocalDateTime.class, new EpochMillisDeserializer())
+                .build();
+    }
+
+    /**
+     * Sub-millisecond digits are dropped, the wire value is a plain integer
+     * every client can turn into its own date type.
+     */
+    public static class EpochMillisSerializer extends JsonSerializer<LocalDateTime> {
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value.atZone(ZONE).toInstant().toEpochMilli());
+        }
+    }
+
+    public static class EpochMillisDeserializer extends JsonDeserializer<LocalDateTime> {
+        @Override
+        public LocalDateTime deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(p.getLongValue()), ZONE);
+            }
+            return (LocalDateTime) ctxt.handleUnexpectedToken(LocalDateTime.class, p);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.sheepion.demo.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.sheepion.demo.common.BlockIdGenerator;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    // the sequence behind products.id BIGSERIAL
+    @Bean
+    public BlockIdGenerator productIdGenerator(DataSource dataSource,
+            @Value("${demo.id-generator.block-size:50}") int blockSize) {
+        return new BlockIdGenerator(dataSource, "products_id_seq", blockSize);
+    }
+}
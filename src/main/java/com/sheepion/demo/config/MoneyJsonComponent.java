@@ -0,0 +1,49 @@
+package com.sheepion.demo.config;
+
+import java.io.IOException;
+
+import org.springframework.boot.jackson.JsonComponent;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.sheepion.demo.common.Money;
+
+/**
+ * Jackson (de)serializers for {@link Money}.
+ * <p>
+ * Money is written as a decimal string like {@code "3.50"}, the same shape the
+ * price had when it was a plain String, so clients don't lose precision. Both
+ * strings and JSON numbers are accepted when reading.
+ */
+@JsonComponent
+public class MoneyJsonComponent {
+
+    public static class Serializer extends JsonSerializer<Money> {
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeString(value.toString());
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Money> {
+        @Override
+        public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.VALUE_STRING || token == JsonToken.VALUE_NUMBER_INT
+                    || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                try {
+                    // getText keeps the original digits for numbers, no double rounding
+                    return Money.parse(p.getText().trim());
+                } catch (IllegalArgumentException | ArithmeticException e) {
+                    return (Money) ctxt.handleWeirdStringValue(Money.class, p.getText(), e.getMessage());
+                }
+            }
+            return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+        }
+    }
+}
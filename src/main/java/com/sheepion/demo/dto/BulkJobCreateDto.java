@@ -0,0 +1,47 @@
+package com.sheepion.demo.dto;
+
+import java.math.BigDecimal;
+
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.model.BulkJob;
+import com.sheepion.demo.model.BulkJobType;
+
+import io.github.linpeilie.annotations.AutoMapper;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "Bulk product mutation params")
+@AutoMapper(target = BulkJob.class)
+public class BulkJobCreateDto {
+    @NotNull(message = "Job type cannot be null")
+    private BulkJobType type;
+
+    @Schema(description = "price change in percent for REPRICE_PERCENT, e.g. -10 for 10% off")
+    private BigDecimal percent;
+
+    @Schema(description = "price change for REPRICE_ABSOLUTE", type = "string", example = "-1.50")
+    private Money amount;
+
+    @Schema(description = "new availability for SET_AVAILABILITY")
+    private Boolean available;
+
+    @Schema(description = "only products priced at least this", type = "string")
+    private Money minPrice;
+
+    @Schema(description = "only products priced at most this", type = "string")
+    private Money maxPrice;
+
+    @Schema(description = "only products with this availability")
+    private Boolean filterAvailable;
+
+    @Schema(description = "ids per chunk, default from demo.bulk-job.chunk-size")
+    private Integer chunkSize;
+}
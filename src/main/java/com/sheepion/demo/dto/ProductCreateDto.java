@@ -1,5 +1,6 @@
 package com.sheepion.demo.dto;
 
+import com.sheepion.demo.common.Money;
 import com.sheepion.demo.model.Product;
 
 import io.github.linpeilie.annotations.AutoMapper;
@@ -25,9 +26,10 @@ public class ProductCreateDto {
 
     private String description;
 
+    // @Min does not apply to Money, the lower bound is checked in the service
+    @Schema(description = "product price", type = "string", example = "3.50")
     @NotNull(message = "Product price cannot be null")
-    @Min(value = 0, message = "Product price must be at least 0")
-    private String price;
+    private Money price;
 
     @NotNull(message = "Product stock quantity cannot be null")
     @Min(value = 0, message = "Product stock quantity must be at least 0")
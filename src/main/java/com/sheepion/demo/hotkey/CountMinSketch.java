@@ -0,0 +1,94 @@
+package com.sheepion.demo.hotkey;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free count-min sketch.
+ * <p>
+ * Counts are never under-estimated, and over-estimated by at most
+ * {@code e * total / width} with probability {@code 1 - e^-depth}.
+ */
+class CountMinSketch {
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counts;
+
+    /**
+     * @param depth number of hash rows
+     * @param width counters per row, rounded up to a power of two
+     */
+    CountMinSketch(int depth, int width) {
+        if (depth <= 0 || width <= 0) {
+            throw new IllegalArgumentException("depth and width must be positive");
+        }
+        int roundedWidth = Integer.highestOneBit(width - 1) << 1;
+        if (width == 1) {
+            roundedWidth = 1;
+        }
+        this.depth = depth;
+        this.mask = roundedWidth - 1;
+        this.counts = new AtomicLongArray(depth * roundedWidth);
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    int width() {
+        return mask + 1;
+    }
+
+    /**
+     * @return the counter slot of the key in the given row
+     */
+    int index(int row, int hash) {
+        // a different odd multiplier per row, then fold the high bits down
+        int h = hash * (0x9E3779B9 + (row << 1));
+        h ^= h >>> 16;
+        return row * (mask + 1) + (h & mask);
+    }
+
+    void increment(int hash) {
+        for (int row = 0; row < depth; row++) {
+            counts.incrementAndGet(index(row, hash));
+        }
+    }
+
+    long estimate(int hash) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts.get(index(row, hash)));
+        }
+        return min;
+    }
+
+    long get(int slot) {
+        return counts.get(slot);
+    }
+
+    void add(int slot, long delta) {
+        counts.addAndGet(slot, delta);
+    }
+
+    /**
+     * Subtract every counter of the other sketch from this one and reset the
+     * other sketch to zero. Both must have the same shape.
+     */
+    void drain(CountMinSketch other) {
+        for (int slot = 0; slot < counts.length(); slot++) {
+            long value = other.counts.getAndSet(slot, 0L);
+            if (value != 0L) {
+                counts.addAndGet(slot, -value);
+            }
+        }
+    }
+
+    static int hash(String key) {
+        int h = key.hashCode();
+        // spread, String.hashCode is weak in the low bits for similar keys
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+}
@@ -0,0 +1,14 @@
+package com.sheepion.demo.hotkey;
+
+import lombok.Value;
+
+/**
+ * A frequently accessed key and its estimated access count in the current
+ * window.
+ */
+@Value
+public class HotKey {
+    String key;
+    long estimatedCount;
+    double ratePerSecond;
+}
@@ -0,0 +1,38 @@
+package com.sheepion.demo.hotkey;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of {@link HotKeyTracker}, prefix {@code demo.hot-key}.
+ */
+@Data
+@ConfigurationProperties(prefix = "demo.hot-key")
+public class HotKeyProperties {
+    /**
+     * Whether to track key accesses at all.
+     */
+    private boolean enabled = true;
+    /**
+     * How many hot keys to keep.
+     */
+    private int topK = 20;
+    /**
+     * Number of sub windows, the window slides by one of them at a time.
+     */
+    private int buckets = 6;
+    /**
+     * Length of one sub window in milliseconds, the whole window is
+     * {@code buckets * bucketMillis}.
+     */
+    private long bucketMillis = 10_000L;
+    /**
+     * Hash rows of the count-min sketch.
+     */
+    private int sketchDepth = 4;
+    /**
+     * Counters per row of the count-min sketch.
+     */
+    private int sketchWidth = 2048;
+}
@@ -0,0 +1,194 @@
+package com.sheepion.demo.hotkey;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tracks the most frequently accessed keys (product uuids) over a sliding
+ * window.
+ * <p>
+ * Accesses are counted in a count-min sketch per sub window, plus one sketch
+ * holding the sum of the whole window, so {@link #record(String)} is a handful
+ * of atomic increments. Keys already in the top-K are updated in place, and a
+ * new key only takes the lock when its estimate exceeds the smallest count in
+ * the current top-K. Every {@code bucketMillis} the oldest
+ * sub window is dropped and, if the top-K changed, a
+ * {@link HotKeysChangedEvent} is published.
+ */
+@Slf4j
+@Component
+public class HotKeyTracker {
+    private static final Comparator<HotKey> HOTTEST_FIRST = Comparator
+            .comparingLong(HotKey::getEstimatedCount).reversed()
+            .thenComparing(HotKey::getKey);
+
+    private final HotKeyProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CountMinSketch[] buckets;
+    private final CountMinSketch window;
+    private volatile int current;
+
+    // guards inserts and evictions of topK, and threshold updates
+    private final Object lock = new Object();
+    // key -> estimated count
+    private final Map<String, Long> topK = new ConcurrentHashMap<>();
+    // smallest count in a full topK, keys not above it skip the lock
+    private volatile long threshold;
+
+    private volatile Set<String> lastPublished = Collections.emptySet();
+
+    public HotKeyTracker(HotKeyProperties properties, ApplicationEventPublisher eventPublisher) {
+        if (properties.getBuckets() < 1 || properties.getTopK() < 1) {
+            throw new IllegalArgumentException("demo.hot-key.buckets and top-k must be positive");
+        }
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.buckets = new CountMinSketch[properties.getBuckets()];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new CountMinSketch(properties.getSketchDepth(), properties.getSketchWidth());
+        }
+        this.window = new CountMinSketch(properties.getSketchDepth(), properties.getSketchWidth());
+    }
+
+    /**
+     * Count one access of the key.
+     *
+     * @param key product uuid, null is ignored
+     */
+    public void record(String key) {
+        if (key == null || !properties.isEnabled()) {
+            return;
+        }
+        int hash = CountMinSketch.hash(key);
+        buckets[current].increment(hash);
+        window.increment(hash);
+        long estimate = window.estimate(hash);
+        // a tie with the coldest key would not displace it
+        if (estimate <= threshold) {
+            return;
+        }
+        Long count = topK.get(key);
+        // null if the key is not hot yet, or was evicted meanwhile
+        if (count != null && topK.computeIfPresent(key, (k, c) -> Math.max(c, estimate)) != null) {
+            if (count <= threshold) {
+                // the coldest key grew, new keys may need more to get in
+                synchronized (lock) {
+                    updateThreshold();
+                }
+            }
+            return;
+        }
+        synchronized (lock) {
+            offer(key, estimate);
+        }
+    }
+
+    /**
+     * @param key product uuid
+     * @return estimated accesses of the key in the current window
+     */
+    public long estimate(String key) {
+        return window.estimate(CountMinSketch.hash(key));
+    }
+
+    /**
+     * @return current hot keys, hottest first
+     */
+    public List<HotKey> topKeys() {
+        double windowSeconds = properties.getBuckets() * properties.getBucketMillis() / 1000.0;
+        List<HotKey> result = new ArrayList<>(topK.size());
+        for (Map.Entry<String, Long> entry : topK.entrySet()) {
+            result.add(new HotKey(entry.getKey(), entry.getValue(), entry.getValue() / windowSeconds));
+        }
+        result.sort(HOTTEST_FIRST);
+        return result;
+    }
+
+    /**
+     * Slide the window by one sub window and publish a
+     * {@link HotKeysChangedEvent} if the top-K changed.
+     */
+    @Scheduled(fixedRateString = "${demo.hot-key.bucket-millis:10000}",
+            initialDelayString = "${demo.hot-key.bucket-millis:10000}")
+    public void rotate() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int next = (current + 1) % buckets.length;
+        // the next bucket is the oldest one, nobody writes to it until current moves
+        window.drain(buckets[next]);
+        current = next;
+
+        synchronized (lock) {
+            // counts only go down here, so overwrite instead of taking the max
+            topK.replaceAll((key, count) -> estimate(key));
+            topK.values().removeIf(count -> count == 0L);
+            updateThreshold();
+        }
+
+        List<HotKey> hotKeys = topKeys();
+        Set<String> keys = new HashSet<>();
+        for (HotKey hotKey : hotKeys) {
+            keys.add(hotKey.getKey());
+        }
+        Set<String> previous = lastPublished;
+        if (keys.equals(previous)) {
+            return;
+        }
+        Set<String> added = new HashSet<>(keys);
+        added.removeAll(previous);
+        Set<String> removed = new HashSet<>(previous);
+        removed.removeAll(keys);
+        lastPublished = keys;
+        log.debug("hot keys changed, added: {}, removed: {}", added, removed);
+        eventPublisher.publishEvent(new HotKeysChangedEvent(this, hotKeys, added, removed));
+    }
+
+    // caller holds the lock
+    private void offer(String key, long estimate) {
+        if (!topK.containsKey(key) && topK.size() >= properties.getTopK()) {
+            String coldest = null;
+            long coldestCount = Long.MAX_VALUE;
+            for (Map.Entry<String, Long> entry : topK.entrySet()) {
+                if (entry.getValue() < coldestCount) {
+                    coldest = entry.getKey();
+                    coldestCount = entry.getValue();
+                }
+            }
+            // raced past a stale threshold, a tie keeps the resident key
+            if (estimate <= coldestCount) {
+                updateThreshold();
+                return;
+            }
+            topK.remove(coldest);
+        }
+        topK.merge(key, estimate, Math::max);
+        updateThreshold();
+    }
+
+    // caller holds the lock
+    private void updateThreshold() {
+        if (topK.size() < properties.getTopK()) {
+            threshold = 0L;
+            return;
+        }
+        long min = Long.MAX_VALUE;
+        for (long count : topK.values()) {
+            min = Math.min(min, count);
+        }
+        threshold = min;
+    }
+}
@@ -0,0 +1,47 @@
+package com.sheepion.demo.hotkey;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by {@link HotKeyTracker} when the set of top-K keys changes.
+ * <p>
+ * Subscribe with {@code @EventListener}, e.g. to warm a cache with the new hot
+ * keys. Listeners run on the scheduler thread that rotates the window, so
+ * anything slow should be handed off.
+ */
+public class HotKeysChangedEvent extends ApplicationEvent {
+    private final List<HotKey> hotKeys;
+    private final Set<String> added;
+    private final Set<String> removed;
+
+    public HotKeysChangedEvent(Object source, List<HotKey> hotKeys, Set<String> added, Set<String> removed) {
+        super(source);
+        this.hotKeys = hotKeys;
+        this.added = added;
+        this.removed = removed;
+    }
+
+    /**
+     * @return current top-K keys, hottest first
+     */
+    public List<HotKey> getHotKeys() {
+        return hotKeys;
+    }
+
+    /**
+     * @return keys that became hot since the last event
+     */
+    public Set<String> getAdded() {
+        return added;
+    }
+
+    /**
+     * @return keys that are no longer hot
+     */
+    public Set<String> getRemoved() {
+        return removed;
+    }
+}
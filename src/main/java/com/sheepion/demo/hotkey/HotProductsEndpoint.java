@@ -0,0 +1,26 @@
+package com.sheepion.demo.hotkey;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint {@code /actuator/hotproducts}, lists the most accessed
+ * product uuids of the current window.
+ */
+@Component
+@Endpoint(id = "hotproducts")
+public class HotProductsEndpoint {
+    private final HotKeyTracker hotKeyTracker;
+
+    public HotProductsEndpoint(HotKeyTracker hotKeyTracker) {
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @ReadOperation
+    public List<HotKey> hotProducts() {
+        return hotKeyTracker.topKeys();
+    }
+}
@@ -0,0 +1,56 @@
+package com.sheepion.demo.interceptor;
+
+import java.util.Properties;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import com.sheepion.demo.common.BlockIdGenerator;
+import com.sheepion.demo.model.Product;
+
+/**
+ * Fill the id of a product before insert, so the insert doesn't need to
+ * return the generated key and can be batched.
+ */
+@Component
+@Intercepts({ @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }) })
+public class AutoIdInterceptor implements Interceptor {
+    private final BlockIdGenerator productIdGenerator;
+
+    public AutoIdInterceptor(@Qualifier("productIdGenerator") BlockIdGenerator productIdGenerator) {
+        this.productIdGenerator = productIdGenerator;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+        Object parameter = invocation.getArgs()[1];
+
+        SqlCommandType sqlCommandType = mappedStatement.getSqlCommandType();
+
+        if (sqlCommandType == SqlCommandType.INSERT && parameter instanceof Product product
+                && product.getId() == null) {
+            product.setId(productIdGenerator.nextId());
+        }
+
+        return invocation.proceed();
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        return Plugin.wrap(target, this);
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+    }
+
+}
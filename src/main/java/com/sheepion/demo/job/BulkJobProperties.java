@@ -0,0 +1,29 @@
+package com.sheepion.demo.job;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of {@link BulkJobRunner}, prefix {@code demo.bulk-job}.
+ */
+@Data
+@ConfigurationProperties(prefix = "demo.bulk-job")
+public class BulkJobProperties {
+    /**
+     * Worker threads shared by all jobs, each applies one chunk at a time.
+     */
+    private int workers = 4;
+    /**
+     * Default ids per chunk, bounds the rows locked by one transaction.
+     */
+    private int chunkSize = 2_000;
+    /**
+     * Whether to pick up jobs left running by a crash or shutdown at startup.
+     */
+    private boolean resumeOnStartup = true;
+    /**
+     * How long shutdown waits for the chunks in flight to commit.
+     */
+    private long shutdownTimeoutMillis = 30_000L;
+}
@@ -0,0 +1,176 @@
+package com.sheepion.demo.job;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sheepion.demo.cache.ProductCache;
+import com.sheepion.demo.mapper.BulkJobMapper;
+import com.sheepion.demo.model.BulkJob;
+import com.sheepion.demo.model.BulkJobChunk;
+import com.sheepion.demo.model.BulkJobStatus;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs bulk product jobs chunk by chunk on a small worker pool.
+ * <p>
+ * Each chunk is claimed with {@code FOR UPDATE SKIP LOCKED}, applied with one
+ * set based {@code UPDATE} over its id range and marked done, all in one short
+ * transaction. Workers on this or other nodes never take the same chunk, and a
+ * crash rolls the chunk back to not done. Resuming a job just runs the chunks
+ * that are left.
+ * <p>
+ * After each chunk the products in its id range are evicted from this node's
+ * {@link ProductCache}. Other nodes keep serving the old products until their
+ * cache entries expire, see {@code demo.product-cache.ttl-millis}.
+ * <p>
+ * On shutdown workers stop after their current chunk and the job stays
+ * {@code RUNNING}, to be resumed on the next start.
+ */
+@Slf4j
+@Component
+public class BulkJobRunner {
+    private final BulkJobMapper bulkJobMapper;
+    private final BulkJobProperties properties;
+    private final TransactionTemplate transaction;
+    // status changes commit on their own, whatever transaction the caller is in
+    private final TransactionTemplate newTransaction;
+    private final ProductCache productCache;
+    private final ExecutorService workers;
+    private volatile boolean stopping;
+
+    public BulkJobRunner(BulkJobMapper bulkJobMapper, BulkJobProperties properties,
+            TransactionTemplate transactionTemplate, ProductCache productCache) {
+        this.bulkJobMapper = bulkJobMapper;
+        this.properties = properties;
+        this.transaction = transactionTemplate;
+        this.newTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.productCache = productCache;
+        AtomicInteger threadNo = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(properties.getWorkers(), runnable -> {
+            Thread thread = new Thread(runnable, "bulk-job-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Mark the job running and apply its remaining chunks in the background.
+     *
+     * @param job the job, with id. Its chunks must be committed.
+     */
+    public void start(BulkJob job) {
+        job.setStatus(BulkJobStatus.RUNNING);
+        job.setError(null);
+        newTransaction.executeWithoutResult(status -> bulkJobMapper.updateStatus(job));
+        log.info("Bulk job {} started", job.getUuid());
+
+        Run run = new Run(job, properties.getWorkers());
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            workers.execute(() -> work(run));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onSubmitted(BulkJobSubmittedEvent event) {
+        start(event.getJob());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (!properties.isResumeOnStartup()) {
+            return;
+        }
+        for (BulkJob job : bulkJobMapper.selectByStatus(BulkJobStatus.RUNNING)) {
+            log.info("Resuming bulk job {}, {}/{} chunks done", job.getUuid(), job.getChunksDone(),
+                    job.getChunksTotal());
+            start(job);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        workers.shutdown();
+        if (!workers.awaitTermination(properties.getShutdownTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+            // a chunk in flight is rolled back and stays for the next start
+            log.warn("Bulk job workers still busy after {} ms, interrupting", properties.getShutdownTimeoutMillis());
+            workers.shutdownNow();
+        }
+    }
+
+    private void work(Run run) {
+        try {
+            BulkJobChunk chunk;
+            while (!stopping && !run.failed.get() && (chunk = applyNextChunk(run.job)) != null) {
+                productCache.invalidateIdRange(chunk.getStartId(), chunk.getEndId());
+            }
+        } catch (RuntimeException e) {
+            if (stopping) {
+                log.warn("Bulk job {} interrupted by shutdown, resumes on next start", run.job.getUuid(), e);
+            } else if (run.failed.compareAndSet(false, true)) {
+                log.error("Bulk job {} failed", run.job.getUuid(), e);
+                BulkJob failed = BulkJob.builder()
+                        .id(run.job.getId())
+                        .status(BulkJobStatus.FAILED)
+                        .error(e.getMessage())
+                        .build();
+                newTransaction.executeWithoutResult(status -> bulkJobMapper.updateStatus(failed));
+            }
+        } finally {
+            if (run.activeWorkers.decrementAndGet() == 0) {
+                finish(run);
+            }
+        }
+    }
+
+    /**
+     * @return the applied chunk, null if no chunk is left
+     */
+    private BulkJobChunk applyNextChunk(BulkJob job) {
+        return transaction.execute(status -> {
+            BulkJobChunk chunk = bulkJobMapper.claimChunk(job.getId());
+            if (chunk == null) {
+                return null;
+            }
+            // same clock as AutoFillTimeInterceptor, one timestamp per chunk
+            int rows = bulkJobMapper.applyChunk(job, chunk, LocalDateTime.now());
+            bulkJobMapper.markChunkDone(chunk, rows);
+            return chunk;
+        });
+    }
+
+    private void finish(Run run) {
+        if (run.failed.get() || stopping) {
+            return;
+        }
+        BulkJob job = BulkJob.builder().id(run.job.getId()).build();
+        if (bulkJobMapper.complete(job) > 0) {
+            log.info("Bulk job {} completed", run.job.getUuid());
+        }
+    }
+
+    private static final class Run {
+        private final BulkJob job;
+        private final AtomicBoolean failed = new AtomicBoolean();
+        private final AtomicInteger activeWorkers;
+
+        private Run(BulkJob job, int workers) {
+            this.job = job;
+            this.activeWorkers = new AtomicInteger(workers);
+        }
+    }
+}
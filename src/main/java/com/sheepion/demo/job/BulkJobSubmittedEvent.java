@@ -0,0 +1,27 @@
+package com.sheepion.demo.job;
+
+import org.springframework.context.ApplicationEvent;
+
+import com.sheepion.demo.model.BulkJob;
+
+/**
+ * Published when a bulk job and its chunks are inserted.
+ * <p>
+ * {@link BulkJobRunner} starts the job once the submitting transaction has
+ * committed, so workers always see the chunks.
+ */
+public class BulkJobSubmittedEvent extends ApplicationEvent {
+    private final BulkJob job;
+
+    public BulkJobSubmittedEvent(Object source, BulkJob job) {
+        super(source);
+        this.job = job;
+    }
+
+    /**
+     * @return the submitted job, with id
+     */
+    public BulkJob getJob() {
+        return job;
+    }
+}
@@ -0,0 +1,74 @@
+package com.sheepion.demo.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sheepion.demo.mapper.InventoryStatsMapper;
+import com.sheepion.demo.model.InventoryStats;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background upkeep of the inventory stats: folds the shard deltas into the
+ * totals row, and reconciles the stats with a full scan of products.
+ * <p>
+ * A reconcile with repair holds a SHARE lock on products for its full scan.
+ * The scheduler pool has a thread per scheduled method, see
+ * {@code spring.task.scheduling.pool.size}, so other scheduled tasks don't
+ * wait for it.
+ */
+@Slf4j
+@Component
+public class InventoryStatsJob {
+    private final InventoryStatsMapper inventoryStatsMapper;
+    private final InventoryStatsProperties properties;
+    private final TransactionTemplate snapshotTransaction;
+    private final TransactionTemplate transaction;
+
+    public InventoryStatsJob(InventoryStatsMapper inventoryStatsMapper, InventoryStatsProperties properties,
+            TransactionTemplate transactionTemplate) {
+        this.inventoryStatsMapper = inventoryStatsMapper;
+        this.properties = properties;
+        this.transaction = transactionTemplate;
+        // both reads of a reconciliation must see the same snapshot
+        this.snapshotTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+    }
+
+    @Scheduled(fixedDelayString = "${demo.inventory-stats.fold-millis:5000}")
+    public void fold() {
+        inventoryStatsMapper.fold();
+    }
+
+    /**
+     * Compare the stats with a full scan.
+     *
+     * @return true if they match
+     */
+    @Scheduled(fixedDelayString = "${demo.inventory-stats.reconcile-millis:3600000}",
+            initialDelayString = "${demo.inventory-stats.reconcile-millis:3600000}")
+    public boolean reconcile() {
+        InventoryStats[] result = snapshotTransaction.execute(status -> new InventoryStats[] {
+                inventoryStatsMapper.selectStats(), inventoryStatsMapper.selectStatsByFullScan() });
+        InventoryStats stats = result[0];
+        InventoryStats scan = result[1];
+        // foldedAt is not part of the figures
+        scan.setFoldedAt(stats.getFoldedAt());
+        if (stats.equals(scan)) {
+            log.debug("Inventory stats reconciled: {}", stats);
+            return true;
+        }
+        log.warn("Inventory stats drifted, incremental: {}, full scan: {}", stats, scan);
+        if (properties.isRepairOnMismatch()) {
+            transaction.executeWithoutResult(status -> {
+                inventoryStatsMapper.lockProducts();
+                inventoryStatsMapper.repairFromFullScan();
+            });
+            log.info("Inventory stats repaired from full scan");
+        }
+        return false;
+    }
+}
@@ -0,0 +1,26 @@
+package com.sheepion.demo.job;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Settings of {@link InventoryStatsJob}, prefix {@code demo.inventory-stats}.
+ */
+@Data
+@ConfigurationProperties(prefix = "demo.inventory-stats")
+public class InventoryStatsProperties {
+    /**
+     * How often the shard deltas are folded into the totals.
+     */
+    private long foldMillis = 5_000L;
+    /**
+     * How often the stats are checked against a full scan of products.
+     */
+    private long reconcileMillis = 3_600_000L;
+    /**
+     * Whether to overwrite the stats with the full scan when they differ. This
+     * blocks product writes while scanning.
+     */
+    private boolean repairOnMismatch = false;
+}
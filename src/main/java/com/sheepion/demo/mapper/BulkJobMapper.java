@@ -0,0 +1,84 @@
+package com.sheepion.demo.mapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.sheepion.demo.model.BulkJob;
+import com.sheepion.demo.model.BulkJobChunk;
+import com.sheepion.demo.model.BulkJobStatus;
+
+@Mapper
+public interface BulkJobMapper {
+    /**
+     * Insert a job.
+     * @param job the job to insert. Id and uuid will be auto-generated.
+     * @return the number of rows affected
+     */
+    int insert(BulkJob job);
+
+    /**
+     * Select a job with its progress by uuid.
+     * @param uuid the uuid of the job.
+     * @return the job
+     */
+    BulkJob selectByUuid(String uuid);
+
+    /**
+     * Select jobs with their progress by status.
+     * @param status the status.
+     * @return jobs
+     */
+    List<BulkJob> selectByStatus(BulkJobStatus status);
+
+    /**
+     * Update the status and error of a job. Completed jobs are left as is.
+     * @param job the job, with id, status and error.
+     * @return the number of rows affected
+     */
+    int updateStatus(BulkJob job);
+
+    /**
+     * Mark a running job completed, if none of its chunks is left.
+     * @param job the job, with id.
+     * @return the number of rows affected
+     */
+    int complete(BulkJob job);
+
+    /**
+     * Split the current products id range into chunks.
+     * Takes plain values, a BulkJob here would get a new uuid from AutoUuidInterceptor.
+     * @param jobId the job id.
+     * @param chunkSize ids per chunk.
+     * @return the number of chunks
+     */
+    int insertChunks(@Param("jobId") Long jobId, @Param("chunkSize") int chunkSize);
+
+    /**
+     * Lock the next chunk that is not done, skipping chunks locked by other
+     * workers. Call inside the transaction that applies it.
+     * @param jobId the job id.
+     * @return the chunk, or null if none is left
+     */
+    BulkJobChunk claimChunk(Long jobId);
+
+    /**
+     * Apply the job to the products of one chunk with a single set based
+     * update. Rows already at the target value are not touched.
+     * @param job the job.
+     * @param chunk the id range.
+     * @param now the updated_at to write, taken like AutoFillTimeInterceptor does.
+     * @return the number of products changed
+     */
+    int applyChunk(@Param("job") BulkJob job, @Param("chunk") BulkJobChunk chunk, @Param("now") LocalDateTime now);
+
+    /**
+     * Mark a chunk done.
+     * @param chunk the chunk.
+     * @param rowsAffected products changed by the chunk.
+     * @return the number of rows affected
+     */
+    int markChunkDone(@Param("chunk") BulkJobChunk chunk, @Param("rowsAffected") int rowsAffected);
+}
@@ -0,0 +1,44 @@
+package com.sheepion.demo.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+
+import com.sheepion.demo.model.InventoryStats;
+
+/**
+ * Inventory aggregates, kept current by the triggers in
+ * {@code V2__product_stats.sql}.
+ */
+@Mapper
+public interface InventoryStatsMapper {
+    /**
+     * Select the current stats, the folded totals plus the pending shard
+     * deltas. Reads a fixed number of rows regardless of the product count.
+     * @return the stats
+     */
+    InventoryStats selectStats();
+
+    /**
+     * Compute the stats by scanning the products table, for reconciliation.
+     * @return the stats, foldedAt is null
+     */
+    InventoryStats selectStatsByFullScan();
+
+    /**
+     * Move the shard deltas into the totals row.
+     * @return the number of rows affected
+     */
+    int fold();
+
+    /**
+     * Block writes to products until the transaction ends, so a repair sees a
+     * stable table.
+     */
+    void lockProducts();
+
+    /**
+     * Overwrite the totals with a full scan and clear the shards. Call inside a
+     * transaction after {@link #lockProducts()}.
+     * @return the number of rows affected
+     */
+    int repairFromFullScan();
+}
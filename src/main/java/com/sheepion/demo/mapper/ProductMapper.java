@@ -1,16 +1,21 @@
 package com.sheepion.demo.mapper;
 
 
+import java.util.Collection;
+import java.util.List;
+
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import com.sheepion.demo.model.Product;
+import com.sheepion.demo.model.ProductProjection;
 
 @Mapper
 public interface ProductMapper {
     /**
      * Insert a product.
      * 
-     * @param product the product to insert. Id and uuid will be auto-generated.
+     * @param product the product to insert. Id and uuid will be filled by interceptors if absent.
      * @return the number of rows affected
      */
     int insert(Product product);
@@ -22,6 +27,22 @@ public interface ProductMapper {
      */
     Product selectByUuid(String uuid);
 
+    /**
+     * Select only the projected columns of a product by uuid.
+     * @param uuid the uuid of the product to select.
+     * @param projection the columns to read, other fields are left null.
+     * @return the product
+     */
+    Product selectProjectionByUuid(@Param("uuid") String uuid, @Param("projection") ProductProjection projection);
+
+    /**
+     * Select the uuid, updated_at and deleted columns of products, used to check
+     * whether a cached copy is still current.
+     * @param uuids uuids to select, must not be empty.
+     * @return products found, with only those three fields set
+     */
+    List<Product> selectVersionsByUuids(@Param("uuids") Collection<String> uuids);
+
     /**
      * Update a product by uuid.
      * @param product the product to update.
@@ -0,0 +1,47 @@
+package com.sheepion.demo.model;
+
+import java.math.BigDecimal;
+
+import com.sheepion.demo.common.BaseEntity;
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.vo.BulkJobVo;
+
+import io.github.linpeilie.annotations.AutoMapper;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@EqualsAndHashCode(callSuper = false)
+@ToString(callSuper = true)
+@AutoMapper(target = BulkJobVo.class)
+public class BulkJob extends BaseEntity {
+    private Long id;
+    private BulkJobType type;
+    // for REPRICE_PERCENT, e.g. -10 for 10% off
+    private BigDecimal percent;
+    // for REPRICE_ABSOLUTE
+    private Money amount;
+    // for SET_AVAILABILITY
+    private Boolean available;
+
+    // filter, null means any
+    private Money minPrice;
+    private Money maxPrice;
+    private Boolean filterAvailable;
+
+    private Integer chunkSize;
+    private BulkJobStatus status;
+    private String error;
+
+    // progress, read only, summed from the chunks
+    private Integer chunksTotal;
+    private Integer chunksDone;
+    private Long rowsAffected;
+}
@@ -0,0 +1,18 @@
+package com.sheepion.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A products id range [startId, endId) of a {@link BulkJob}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkJobChunk {
+    private Long jobId;
+    private Integer chunkNo;
+    private Long startId;
+    private Long endId;
+}
@@ -0,0 +1,11 @@
+package com.sheepion.demo.model;
+
+public enum BulkJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    /**
+     * a chunk failed, done chunks stay applied and the job can be resumed
+     */
+    FAILED
+}
@@ -0,0 +1,16 @@
+package com.sheepion.demo.model;
+
+public enum BulkJobType {
+    /**
+     * price = price * (100 + percent) / 100, rounded to cents
+     */
+    REPRICE_PERCENT,
+    /**
+     * price = price + amount
+     */
+    REPRICE_ABSOLUTE,
+    /**
+     * is_available = available
+     */
+    SET_AVAILABILITY
+}
@@ -0,0 +1,25 @@
+package com.sheepion.demo.model;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Inventory aggregates over all products that are not deleted.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class InventoryStats {
+    private Long productCount;
+    private Long availableCount;
+    private Long totalStock;
+    // sum of price * stock quantity, in cents
+    private Long stockValueCents;
+    // when the shards were last folded in, null for a full scan
+    private LocalDateTime foldedAt;
+}
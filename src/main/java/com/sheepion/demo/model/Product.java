@@ -1,8 +1,12 @@
 package com.sheepion.demo.model;
 
-import java.math.BigDecimal;
-
 import com.sheepion.demo.common.BaseEntity;
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.vo.ProductProjectionVo;
+import com.sheepion.demo.vo.ProductVo;
+
+import io.github.linpeilie.annotations.AutoMapper;
+import io.github.linpeilie.annotations.AutoMappers;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,11 +21,12 @@ import lombok.ToString;
 @Builder
 @EqualsAndHashCode(callSuper = false)
 @ToString(callSuper = true)
+@AutoMappers({ @AutoMapper(target = ProductVo.class), @AutoMapper(target = ProductProjectionVo.class) })
 public class Product extends BaseEntity {
     private Long id;
     private String name;
     private String description;
-    private BigDecimal price;
+    private Money price;
     private Integer stockQuantity;
     private Boolean isAvailable;
 }
@@ -0,0 +1,48 @@
+package com.sheepion.demo.model;
+
+/**
+ * Product fields that can be requested by a projection, see
+ * {@link ProductProjection}.
+ * <p>
+ * Each field knows the name used by clients (same as the VO property) and the
+ * column it is read from.
+ */
+public enum ProductField {
+    UUID("uuid", "uuid"),
+    NAME("name", "name"),
+    DESCRIPTION("description", "description"),
+    PRICE("price", "price"),
+    STOCK_QUANTITY("stockQuantity", "stock_quantity"),
+    IS_AVAILABLE("isAvailable", "is_available"),
+    CREATED_AT("createdAt", "created_at"),
+    UPDATED_AT("updatedAt", "updated_at");
+
+    private final String property;
+    private final String column;
+
+    ProductField(String property, String column) {
+        this.property = property;
+        this.column = column;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * @param property client side field name, e.g. {@code stockQuantity}
+     * @return the field, or null if not found
+     */
+    public static ProductField ofProperty(String property) {
+        for (ProductField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,106 @@
+package com.sheepion.demo.model;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A set of {@link ProductField}s to read, with its SQL column list built once.
+ * <p>
+ * There are only {@code 2^n} possible projections, so they are cached in an
+ * array indexed by the field bitmask and every distinct {@code fields=}
+ * parameter shares one instance. {@code uuid} is always included since clients
+ * need it to identify the product.
+ */
+public final class ProductProjection {
+    private static final ProductField[] FIELDS = ProductField.values();
+
+    private static final int UUID_MASK = 1 << ProductField.UUID.ordinal();
+
+    private static final int ALL_MASK = (1 << FIELDS.length) - 1;
+
+    private static final AtomicReferenceArray<ProductProjection> CACHE = new AtomicReferenceArray<>(ALL_MASK + 1);
+
+    public static final ProductProjection ALL = of(ALL_MASK);
+
+    private final int mask;
+    private final String columns;
+
+    private ProductProjection(int mask) {
+        this.mask = mask;
+        StringBuilder sb = new StringBuilder();
+        for (ProductField field : FIELDS) {
+            if ((mask & (1 << field.ordinal())) != 0) {
+                if (sb.length() > 0) {
+                    sb.append(", ");
+                }
+                sb.append(field.getColumn());
+            }
+        }
+        this.columns = sb.toString();
+    }
+
+    private static ProductProjection of(int mask) {
+        mask |= UUID_MASK;
+        ProductProjection projection = CACHE.get(mask);
+        if (projection == null) {
+            // racing threads build equal instances, keep whichever won
+            CACHE.compareAndSet(mask, null, new ProductProjection(mask));
+            projection = CACHE.get(mask);
+        }
+        return projection;
+    }
+
+    /**
+     * Parse a comma separated field list, e.g.
+     * {@code "name,price,stockQuantity"}.
+     *
+     * @param fields field names as in {@link ProductField#getProperty()}. Blank
+     *               means all fields.
+     * @return projection
+     * @throws IllegalArgumentException if a field is unknown
+     */
+    public static ProductProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        int mask = 0;
+        int start = 0;
+        int length = fields.length();
+        while (start <= length) {
+            int end = fields.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            String name = fields.substring(start, end).trim();
+            if (!name.isEmpty()) {
+                ProductField field = ProductField.ofProperty(name);
+                if (field == null) {
+                    throw new IllegalArgumentException("Unknown product field: " + name);
+                }
+                mask |= 1 << field.ordinal();
+            }
+            start = end + 1;
+        }
+        return of(mask);
+    }
+
+    public boolean contains(ProductField field) {
+        return (mask & (1 << field.ordinal())) != 0;
+    }
+
+    public boolean isAll() {
+        return mask == ALL_MASK;
+    }
+
+    /**
+     * @return comma separated columns, only made of {@link ProductField}
+     *         columns so it is safe to inline in SQL
+     */
+    public String getColumns() {
+        return columns;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductProjection(" + columns + ")";
+    }
+}
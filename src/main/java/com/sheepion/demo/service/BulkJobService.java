@@ -0,0 +1,29 @@
+package com.sheepion.demo.service;
+
+import com.sheepion.demo.dto.BulkJobCreateDto;
+import com.sheepion.demo.vo.BulkJobVo;
+
+public interface BulkJobService {
+    /**
+     * Submit a bulk price or availability change. It applies to the products
+     * that exist at submit time and runs in the background once the submit has
+     * committed. Other nodes may serve cached products with the old values for
+     * up to {@code demo.product-cache.ttl-millis}.
+     * @param params params
+     * @return uuid of the job
+     */
+    String submitJob(BulkJobCreateDto params);
+
+    /**
+     * @param uuid
+     * @return vo with progress, null if not found
+     */
+    BulkJobVo getJob(String uuid);
+
+    /**
+     * Run the chunks a failed job has left.
+     * @param uuid
+     * @return vo with progress, null if not found
+     */
+    BulkJobVo resumeJob(String uuid);
+}
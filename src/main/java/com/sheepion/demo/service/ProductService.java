@@ -2,6 +2,7 @@ package com.sheepion.demo.service;
 
 import com.sheepion.demo.dto.ProductCreateDto;
 import com.sheepion.demo.model.Product;
+import com.sheepion.demo.vo.InventoryStatsVo;
 import com.sheepion.demo.vo.ProductVo;
 
 public interface ProductService {
@@ -19,10 +20,28 @@ public interface ProductService {
      */
     ProductVo getProductByUuid(String uuid);
 
+    /**
+     * Same as {@link #getProductByUuid(String)}, but only returns the requested
+     * fields. Served from the product cache when it holds the product, else only
+     * the requested columns are read.
+     * @param uuid
+     * @param fields comma separated field names, e.g. "name,price,stockQuantity". Blank for all.
+     * @return vo, a {@link com.sheepion.demo.vo.ProductProjectionVo} when fields
+     *         are given: fields not requested are null and left out of the response
+     */
+    ProductVo getProductByUuid(String uuid, String fields);
+
     /**
      * create new product
      * @param product params
      * @return uuid of the created product
      */
     String createProduct(ProductCreateDto product);
+
+    /**
+     * inventory totals over all products, maintained incrementally so the cost
+     * does not grow with the number of products
+     * @return stats
+     */
+    InventoryStatsVo getInventoryStats();
 }   
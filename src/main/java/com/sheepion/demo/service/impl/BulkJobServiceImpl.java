@@ -0,0 +1,103 @@
+package com.sheepion.demo.service.impl;
+
+import java.math.BigDecimal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sheepion.demo.dto.BulkJobCreateDto;
+import com.sheepion.demo.job.BulkJobProperties;
+import com.sheepion.demo.job.BulkJobRunner;
+import com.sheepion.demo.job.BulkJobSubmittedEvent;
+import com.sheepion.demo.mapper.BulkJobMapper;
+import com.sheepion.demo.model.BulkJob;
+import com.sheepion.demo.model.BulkJobStatus;
+import com.sheepion.demo.service.BulkJobService;
+import com.sheepion.demo.vo.BulkJobVo;
+
+import io.github.linpeilie.Converter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class BulkJobServiceImpl implements BulkJobService {
+    private static final BigDecimal MIN_PERCENT = BigDecimal.valueOf(-100);
+
+    @Autowired
+    private BulkJobMapper bulkJobMapper;
+
+    @Autowired
+    private BulkJobRunner bulkJobRunner;
+
+    @Autowired
+    private BulkJobProperties bulkJobProperties;
+
+    @Autowired
+    private Converter converter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public String submitJob(BulkJobCreateDto params) {
+        log.debug("submitJob: {}", params);
+        if (params.getType() == null) {
+            throw new IllegalArgumentException("Job type cannot be null");
+        }
+        switch (params.getType()) {
+            case REPRICE_PERCENT -> {
+                if (params.getPercent() == null || params.getPercent().compareTo(MIN_PERCENT) < 0) {
+                    throw new IllegalArgumentException("Percent must be at least -100");
+                }
+            }
+            case REPRICE_ABSOLUTE -> {
+                if (params.getAmount() == null) {
+                    throw new IllegalArgumentException("Amount cannot be null");
+                }
+            }
+            case SET_AVAILABILITY -> {
+                if (params.getAvailable() == null) {
+                    throw new IllegalArgumentException("Available cannot be null");
+                }
+            }
+        }
+        if (params.getChunkSize() != null && params.getChunkSize() < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+
+        BulkJob job = converter.convert(params, BulkJob.class);
+        if (job.getChunkSize() == null) {
+            job.setChunkSize(bulkJobProperties.getChunkSize());
+        }
+        job.setStatus(BulkJobStatus.PENDING);
+        bulkJobMapper.insert(job);
+        int chunks = bulkJobMapper.insertChunks(job.getId(), job.getChunkSize());
+        log.info("Bulk job {} submitted, {} chunks", job.getUuid(), chunks);
+
+        // the runner starts it after commit, workers must see the chunks
+        eventPublisher.publishEvent(new BulkJobSubmittedEvent(this, job));
+        return job.getUuid();
+    }
+
+    @Override
+    public BulkJobVo getJob(String uuid) {
+        BulkJob job = bulkJobMapper.selectByUuid(uuid);
+        return job == null ? null : converter.convert(job, BulkJobVo.class);
+    }
+
+    @Override
+    public BulkJobVo resumeJob(String uuid) {
+        BulkJob job = bulkJobMapper.selectByUuid(uuid);
+        if (job == null) {
+            return null;
+        }
+        if (job.getStatus() != BulkJobStatus.FAILED) {
+            throw new IllegalStateException("Only failed jobs can be resumed, job is " + job.getStatus());
+        }
+        bulkJobRunner.start(job);
+        return getJob(uuid);
+    }
+}
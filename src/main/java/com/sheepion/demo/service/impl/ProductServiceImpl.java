@@ -1,19 +1,25 @@
 package com.sheepion.demo.service.impl;
 
-import java.math.BigDecimal;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import com.sheepion.demo.cache.ProductCache;
+import com.sheepion.demo.common.Money;
 import com.sheepion.demo.dto.ProductCreateDto;
+import com.sheepion.demo.hotkey.HotKeyTracker;
+import com.sheepion.demo.mapper.InventoryStatsMapper;
 import com.sheepion.demo.mapper.ProductMapper;
+import com.sheepion.demo.model.InventoryStats;
 import com.sheepion.demo.model.Product;
+import com.sheepion.demo.model.ProductField;
+import com.sheepion.demo.model.ProductProjection;
 import com.sheepion.demo.service.ProductService;
+import com.sheepion.demo.vo.InventoryStatsVo;
+import com.sheepion.demo.vo.ProductProjectionVo;
 import com.sheepion.demo.vo.ProductVo;
 
-import cn.hutool.core.util.NumberUtil;
 import cn.hutool.core.util.StrUtil;
 import io.github.linpeilie.Converter;
 import jakarta.validation.Valid;
@@ -25,11 +31,21 @@ public class ProductServiceImpl implements ProductService {
     @Autowired
     private ProductMapper productMapper;
 
+    @Autowired
+    private InventoryStatsMapper inventoryStatsMapper;
+
     // converter from mapstruct-plus
     // used to convert between model, dto, vo
     @Autowired
     private Converter converter;
 
+    // counts reads per uuid, see the hotproducts actuator endpoint
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+
+    @Autowired
+    private ProductCache productCache;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public String createProduct(ProductCreateDto params) {
@@ -39,12 +55,11 @@ public class ProductServiceImpl implements ProductService {
         if (StrUtil.isBlank(params.getName())) {
             throw new IllegalArgumentException("Product name cannot be blank");
         }
-        if (params.getPrice() == null || NumberUtil.isLess(new BigDecimal(params.getPrice()), BigDecimal.ZERO)) {
+        if (params.getPrice() == null || params.getPrice().isNegative()) {
             throw new IllegalArgumentException("Product price must be at least 0");
         }
-        if (params.getStockQuantity() == null
-                || NumberUtil.isLess(new BigDecimal(params.getStockQuantity()), BigDecimal.ZERO)) {
-            throw new IllegalArgumentException("Product price must be at least 0");
+        if (params.getStockQuantity() == null || params.getStockQuantity() < 0) {
+            throw new IllegalArgumentException("Product stock quantity must be at least 0");
         }
 
         Product product = converter.convert(params, Product.class);
@@ -62,10 +77,15 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public ProductVo getProductByUuid(String uuid) {
         log.debug("getProductByUuid: {}", uuid);
-        Product product = productMapper.selectByUuid(uuid);
+        hotKeyTracker.record(uuid);
+        Product product = productCache.get(uuid);
         if (product == null) {
-            log.debug(uuid + " not found");
-            return null;
+            product = productMapper.selectByUuid(uuid);
+            if (product == null) {
+                log.debug(uuid + " not found");
+                return null;
+            }
+            productCache.put(product);
         }
 
         ProductVo productVo = converter.convert(product, ProductVo.class);
@@ -73,4 +93,61 @@ public class ProductServiceImpl implements ProductService {
         return productVo;
     }
 
+    @Override
+    public ProductVo getProductByUuid(String uuid, String fields) {
+        log.debug("getProductByUuid: {}, fields: {}", uuid, fields);
+        ProductProjection projection = ProductProjection.parse(fields);
+        if (projection.isAll()) {
+            return getProductByUuid(uuid);
+        }
+        hotKeyTracker.record(uuid);
+        // a cached product already has every field, only a miss reads the columns asked for
+        Product cached = productCache.get(uuid);
+        if (cached != null) {
+            return project(converter.convert(cached, ProductProjectionVo.class), projection);
+        }
+        Product product = productMapper.selectProjectionByUuid(uuid, projection);
+        if (product == null) {
+            log.debug(uuid + " not found");
+            return null;
+        }
+        return converter.convert(product, ProductProjectionVo.class);
+    }
+
+    /**
+     * Clear the fields not in the projection, as if read with
+     * {@code selectProjectionByUuid}.
+     */
+    private static ProductProjectionVo project(ProductProjectionVo productVo, ProductProjection projection) {
+        if (!projection.contains(ProductField.NAME)) {
+            productVo.setName(null);
+        }
+        if (!projection.contains(ProductField.DESCRIPTION)) {
+            productVo.setDescription(null);
+        }
+        if (!projection.contains(ProductField.PRICE)) {
+            productVo.setPrice(null);
+        }
+        if (!projection.contains(ProductField.STOCK_QUANTITY)) {
+            productVo.setStockQuantity(null);
+        }
+        if (!projection.contains(ProductField.IS_AVAILABLE)) {
+            productVo.setIsAvailable(null);
+        }
+        if (!projection.contains(ProductField.CREATED_AT)) {
+            productVo.setCreatedAt(null);
+        }
+        if (!projection.contains(ProductField.UPDATED_AT)) {
+            productVo.setUpdatedAt(null);
+        }
+        return productVo;
+    }
+
+    @Override
+    public InventoryStatsVo getInventoryStats() {
+        InventoryStats stats = inventoryStatsMapper.selectStats();
+        return new InventoryStatsVo(stats.getProductCount(), stats.getAvailableCount(), stats.getTotalStock(),
+                Money.ofMinor(stats.getStockValueCents()));
+    }
+
 }
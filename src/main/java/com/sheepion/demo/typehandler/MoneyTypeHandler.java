@@ -0,0 +1,56 @@
+package com.sheepion.demo.typehandler;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedJdbcTypes;
+import org.apache.ibatis.type.MappedTypes;
+
+import com.sheepion.demo.common.Money;
+
+/**
+ * Mybatis type handler between {@link Money} and {@code NUMERIC} columns.
+ * <p>
+ * Reading with {@code getString} and parsing it into {@link Money} skips the
+ * {@link java.math.BigDecimal} the driver would build for
+ * {@code getBigDecimal}, as long as the numeric arrives as text. pgjdbc
+ * receives {@code NUMERIC} in binary once a statement is server prepared
+ * (after {@code prepareThreshold} runs on a connection), and {@code getString}
+ * then decodes it through a BigDecimal too. The datasource url sets
+ * {@code binaryTransferDisable=NUMERIC} to keep it text. Writing binds the text
+ * with an unspecified type and lets the server cast it to the column type.
+ */
+@MappedTypes(Money.class)
+@MappedJdbcTypes(value = JdbcType.NUMERIC, includeNullJdbcType = true)
+public class MoneyTypeHandler extends BaseTypeHandler<Money> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, Money parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setObject(i, parameter.toString(), Types.OTHER);
+    }
+
+    @Override
+    public Money getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return toMoney(rs.getString(columnName));
+    }
+
+    @Override
+    public Money getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return toMoney(rs.getString(columnIndex));
+    }
+
+    @Override
+    public Money getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return toMoney(cs.getString(columnIndex));
+    }
+
+    private static Money toMoney(String value) {
+        return value == null ? null : Money.parse(value);
+    }
+}
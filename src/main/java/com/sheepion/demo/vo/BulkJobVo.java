@@ -0,0 +1,32 @@
+package com.sheepion.demo.vo;
+
+import java.time.LocalDateTime;
+
+import com.sheepion.demo.model.BulkJobStatus;
+import com.sheepion.demo.model.BulkJobType;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Bulk product mutation job")
+public class BulkJobVo {
+    @Schema(description = "job uuid")
+    private String uuid;
+    private BulkJobType type;
+    private BulkJobStatus status;
+    @Schema(description = "number of id range chunks")
+    private Integer chunksTotal;
+    @Schema(description = "number of chunks applied")
+    private Integer chunksDone;
+    @Schema(description = "number of products changed so far")
+    private Long rowsAffected;
+    private String error;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,23 @@
+package com.sheepion.demo.vo;
+
+import com.sheepion.demo.common.Money;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Inventory stats")
+public class InventoryStatsVo {
+    @Schema(description = "number of products")
+    private Long productCount;
+    @Schema(description = "number of available products")
+    private Long availableCount;
+    @Schema(description = "total units in stock")
+    private Long totalStock;
+    @Schema(description = "total of price * stock quantity", type = "string", example = "1024.50")
+    private Money totalStockValue;
+}
@@ -0,0 +1,18 @@
+package com.sheepion.demo.vo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * A product read with {@code fields=}. Fields not requested are null and
+ * omitted from the response, a full {@link ProductVo} still sends them as null.
+ */
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@Schema(description = "Product, only the requested fields")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductProjectionVo extends ProductVo {
+}
@@ -2,6 +2,8 @@ package com.sheepion.demo.vo;
 
 import java.time.LocalDateTime;
 
+import com.sheepion.demo.common.Money;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -18,7 +20,9 @@ public class ProductVo {
     @Schema(description = "product name")
     private String name;
     private String description;
-    private String price; // Use String to avoid precision issues with BigDecimal
+    // serialized as a decimal string, see MoneyJsonComponent
+    @Schema(description = "product price", type = "string", example = "3.50")
+    private Money price;
     private Integer stockQuantity;
     private Boolean isAvailable;
 
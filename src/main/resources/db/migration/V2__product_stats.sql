@@ -0,0 +1,82 @@
+-- Incrementally maintained inventory aggregates, see InventoryStatsMapper.
+-- Row level changes of products are summed per statement and added to one of
+-- the shard rows (picked by backend pid, so concurrent writers rarely share a
+-- row). The shards are folded into product_stats periodically.
+-- A product counts while it is not soft deleted; stock value is in cents.
+CREATE TABLE product_stats (
+    id INT PRIMARY KEY CHECK (id = 1),
+    product_count BIGINT NOT NULL,
+    available_count BIGINT NOT NULL,
+    total_stock BIGINT NOT NULL,
+    stock_value_cents BIGINT NOT NULL,
+    folded_at TIMESTAMP WITHOUT TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE product_stats_shards (
+    shard INT PRIMARY KEY,
+    product_count BIGINT DEFAULT 0 NOT NULL,
+    available_count BIGINT DEFAULT 0 NOT NULL,
+    total_stock BIGINT DEFAULT 0 NOT NULL,
+    stock_value_cents BIGINT DEFAULT 0 NOT NULL
+);
+
+INSERT INTO product_stats_shards (shard) SELECT generate_series(0, 15);
+
+INSERT INTO product_stats (id, product_count, available_count, total_stock, stock_value_cents)
+SELECT 1,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE is_available),
+       COALESCE(SUM(stock_quantity), 0),
+       COALESCE(SUM((price * 100)::BIGINT * stock_quantity), 0)
+FROM products
+WHERE NOT deleted;
+
+CREATE FUNCTION product_stats_apply(d_count BIGINT, d_available BIGINT, d_stock BIGINT, d_value BIGINT)
+RETURNS void AS $$
+BEGIN
+    IF d_count = 0 AND d_available = 0 AND d_stock = 0 AND d_value = 0 THEN
+        RETURN;
+    END IF;
+    UPDATE product_stats_shards
+    SET product_count = product_count + d_count,
+        available_count = available_count + d_available,
+        total_stock = total_stock + d_stock,
+        stock_value_cents = stock_value_cents + d_value
+    WHERE shard = pg_backend_pid() % 16;
+END;
+$$ LANGUAGE plpgsql;
+
+-- transition tables are only allowed on single event triggers, hence three
+CREATE FUNCTION product_stats_on_change() RETURNS trigger AS $$
+DECLARE
+    n_count BIGINT := 0; n_available BIGINT := 0; n_stock BIGINT := 0; n_value BIGINT := 0;
+    o_count BIGINT := 0; o_available BIGINT := 0; o_stock BIGINT := 0; o_value BIGINT := 0;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        SELECT COUNT(*), COUNT(*) FILTER (WHERE is_available),
+               COALESCE(SUM(stock_quantity), 0), COALESCE(SUM((price * 100)::BIGINT * stock_quantity), 0)
+        INTO n_count, n_available, n_stock, n_value
+        FROM new_rows WHERE NOT deleted;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        SELECT COUNT(*), COUNT(*) FILTER (WHERE is_available),
+               COALESCE(SUM(stock_quantity), 0), COALESCE(SUM((price * 100)::BIGINT * stock_quantity), 0)
+        INTO o_count, o_available, o_stock, o_value
+        FROM old_rows WHERE NOT deleted;
+    END IF;
+    PERFORM product_stats_apply(n_count - o_count, n_available - o_available, n_stock - o_stock, n_value - o_value);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_product_stats_insert AFTER INSERT ON products
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION product_stats_on_change();
+
+CREATE TRIGGER trg_product_stats_update AFTER UPDATE ON products
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION product_stats_on_change();
+
+CREATE TRIGGER trg_product_stats_delete AFTER DELETE ON products
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION product_stats_on_change();
@@ -0,0 +1,32 @@
+-- Bulk product mutations, see BulkJobRunner.
+-- A job covers the products id range at submit time, split into chunks.
+-- A chunk is claimed, applied and marked done in one transaction, so a crash
+-- leaves it not done and it is simply picked up again on resume.
+CREATE TABLE bulk_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    uuid CHAR(36) UNIQUE NOT NULL,
+    type VARCHAR(32) NOT NULL,
+    percent NUMERIC(7, 2),
+    amount NUMERIC(10, 2),
+    available BOOLEAN,
+    min_price NUMERIC(10, 2),
+    max_price NUMERIC(10, 2),
+    filter_available BOOLEAN,
+    chunk_size INT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    error TEXT,
+    created_at TIMESTAMP WITHOUT TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITHOUT TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    deleted BOOLEAN DEFAULT FALSE NOT NULL
+);
+
+CREATE TABLE bulk_job_chunks (
+    job_id BIGINT NOT NULL REFERENCES bulk_jobs (id),
+    chunk_no INT NOT NULL,
+    -- [start_id, end_id)
+    start_id BIGINT NOT NULL,
+    end_id BIGINT NOT NULL,
+    done BOOLEAN DEFAULT FALSE NOT NULL,
+    rows_affected INT DEFAULT 0 NOT NULL,
+    PRIMARY KEY (job_id, chunk_no)
+);
@@ -0,0 +1,70 @@
+package com.sheepion.demo.benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Elapsed time and bytes allocated by a loop of operations on the current
+ * thread, shared by the benchmarks in this package.
+ * <p>
+ * The benchmarks are not unit tests, run their main method from the IDE or
+ * with {@code java -cp target/test-classes:target/classes ...}. Allocations are
+ * read from the JVM, so they need a HotSpot JVM.
+ */
+final class Measurement {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // consumed after each run so the JIT can't drop the work
+    private static long sink;
+
+    private final long nanos;
+    private final long bytes;
+    private final int iterations;
+
+    private Measurement(long nanos, long bytes, int iterations) {
+        this.nanos = nanos;
+        this.bytes = bytes;
+        this.iterations = iterations;
+    }
+
+    /**
+     * One iteration, its result goes to the sink.
+     */
+    @FunctionalInterface
+    interface Operation {
+        long run(int iteration) throws Exception;
+    }
+
+    static Measurement run(int iterations, Operation operation) {
+        long threadId = Thread.currentThread().getId();
+        long bytesBefore = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long acc = 0;
+        try {
+            for (int i = 0; i < iterations; i++) {
+                acc += operation.run(i);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("benchmark operation failed", e);
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - bytesBefore;
+        sink += acc;
+        return new Measurement(elapsed, bytes, iterations);
+    }
+
+    /**
+     * Print at the end of main, so the sink is used.
+     */
+    static long sink() {
+        return sink;
+    }
+
+    double nanosPerOp() {
+        return (double) nanos / iterations;
+    }
+
+    double bytesPerOp() {
+        return (double) bytes / iterations;
+    }
+}
@@ -0,0 +1,56 @@
+package com.sheepion.demo.benchmark;
+
+import java.math.BigDecimal;
+import java.util.function.ToLongFunction;
+
+import com.sheepion.demo.common.Money;
+
+/**
+ * Compares the allocation rate of the old price round trip
+ * ({@code String -> BigDecimal -> String}) with {@link Money}. See
+ * {@link Measurement} on how to run it.
+ */
+public class MoneyAllocationBenchmark {
+    private static final int WARMUP = 2_000_000;
+    private static final int ITERATIONS = 10_000_000;
+
+    private static final String[] PRICES = { "10.00", "3.51", "2.35", "1.80", "4.20", "12999.99" };
+
+    public static void main(String[] args) {
+        run(MoneyAllocationBenchmark::bigDecimalRoundTrip, WARMUP);
+        run(MoneyAllocationBenchmark::moneyRoundTrip, WARMUP);
+        report("BigDecimal", run(MoneyAllocationBenchmark::bigDecimalRoundTrip, ITERATIONS));
+        report("Money", run(MoneyAllocationBenchmark::moneyRoundTrip, ITERATIONS));
+        System.out.println("sink: " + Measurement.sink());
+    }
+
+    /**
+     * What the price used to go through: parse from the DTO string, compare
+     * against zero, read back from the driver and format for the VO.
+     */
+    private static long bigDecimalRoundTrip(String text) {
+        BigDecimal price = new BigDecimal(text);
+        if (price.compareTo(BigDecimal.ZERO) < 0) {
+            return 0;
+        }
+        BigDecimal fromDb = new BigDecimal(price.toPlainString());
+        return fromDb.toPlainString().length();
+    }
+
+    private static long moneyRoundTrip(String text) {
+        Money price = Money.parse(text);
+        if (price.isNegative()) {
+            return 0;
+        }
+        Money fromDb = Money.parse(price.toString());
+        return fromDb.toString().length();
+    }
+
+    private static Measurement run(ToLongFunction<String> roundTrip, int iterations) {
+        return Measurement.run(iterations, i -> roundTrip.applyAsLong(PRICES[i % PRICES.length]));
+    }
+
+    private static void report(String name, Measurement measurement) {
+        System.out.printf("%-10s %8.1f ns/op %8.1f B/op%n", name, measurement.nanosPerOp(), measurement.bytesPerOp());
+    }
+}
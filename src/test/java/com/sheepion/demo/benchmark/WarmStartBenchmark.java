@@ -0,0 +1,209 @@
+package com.sheepion.demo.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.sheepion.demo.cache.ProductCache;
+import com.sheepion.demo.cache.ProductCacheProperties;
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.mapper.ProductMapper;
+import com.sheepion.demo.model.Product;
+import com.sheepion.demo.model.ProductProjection;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Database load and read latency right after a restart, with and without the
+ * {@link ProductCache} snapshot.
+ * <p>
+ * A first node serves skewed traffic and writes its snapshot, then a cold and a
+ * warm node each serve the same reads, the way {@code getProductByUuid} does:
+ * cache, else database and put. The database is simulated with a fixed latency
+ * per query, so the numbers show the query count and the latency it adds, not
+ * Postgres itself. The catalog fits the cache, so what differs is only how the
+ * cache gets warm. Run the main method like the other benchmarks.
+ */
+public class WarmStartBenchmark {
+    private static final int CATALOG = 10_000;
+    private static final int CAPACITY = 10_000;
+    private static final int THREADS = 4;
+    private static final int READS = 100_000;
+    private static final long QUERY_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("warm-start");
+        SimulatedDatabase database = new SimulatedDatabase();
+
+        // the node before the restart, its snapshot is what the warm node loads
+        ProductCache previous = cache(dir, database);
+        run(previous, database, 1);
+        previous.writeSnapshot();
+
+        System.out.printf("%-5s %10s %10s %12s %10s %10s%n", "", "db queries", "db qps", "reads/s", "p50 us",
+                "p99 us");
+        ProductCacheProperties cold = properties(dir);
+        cold.setSnapshotEnabled(false);
+        report("cold", run(new ProductCache(cold, database, new SimpleMeterRegistry()), database, 2));
+        report("warm", run(cache(dir, database), database, 2));
+    }
+
+    private static ProductCacheProperties properties(Path dir) {
+        ProductCacheProperties properties = new ProductCacheProperties();
+        properties.setCapacity(CAPACITY);
+        properties.setSnapshotPath(dir.resolve("snapshot.bin").toString());
+        return properties;
+    }
+
+    private static ProductCache cache(Path dir, SimulatedDatabase database) {
+        ProductCache cache = new ProductCache(properties(dir), database, new SimpleMeterRegistry());
+        cache.loadSnapshot();
+        return cache;
+    }
+
+    /**
+     * @return database queries, elapsed nanos, then the sorted read latencies
+     */
+    private static long[] run(ProductCache cache, SimulatedDatabase database, long seed) throws Exception {
+        long queriesBefore = database.queries.get();
+        ScheduledExecutorService revalidator = Executors.newSingleThreadScheduledExecutor();
+        revalidator.scheduleWithFixedDelay(cache::revalidate, 1, 1, TimeUnit.SECONDS);
+        ExecutorService readers = Executors.newFixedThreadPool(THREADS);
+        long[] latencies = new long[READS];
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            int perThread = READS / THREADS;
+            for (int t = 0; t < THREADS; t++) {
+                int from = t * perThread;
+                SplittableRandom random = new SplittableRandom(seed * 31 + t);
+                futures.add(readers.submit(() -> {
+                    for (int i = from; i < from + perThread; i++) {
+                        String uuid = database.uuids[skewed(random)];
+                        long begin = System.nanoTime();
+                        if (cache.get(uuid) == null) {
+                            cache.put(database.selectByUuid(uuid));
+                        }
+                        latencies[i] = System.nanoTime() - begin;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            readers.shutdown();
+            revalidator.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        long[] result = new long[READS + 2];
+        result[0] = database.queries.get() - queriesBefore;
+        result[1] = elapsed;
+        System.arraycopy(latencies, 0, result, 2, READS);
+        return result;
+    }
+
+    /**
+     * Power law over the catalog, a few hundred products take most reads.
+     */
+    private static int skewed(SplittableRandom random) {
+        double r = random.nextDouble();
+        return (int) (CATALOG * r * r * r);
+    }
+
+    private static void report(String name, long[] result) {
+        double seconds = result[1] / 1e9;
+        System.out.printf("%-5s %10d %10.0f %12.0f %10.1f %10.1f%n", name, result[0], result[0] / seconds,
+                READS / seconds, percentile(result, 0.50) / 1e3, percentile(result, 0.99) / 1e3);
+    }
+
+    private static long percentile(long[] result, double p) {
+        return result[2 + (int) Math.min(READS - 1, Math.ceil(p * READS) - 1)];
+    }
+
+    /**
+     * The product table, every query parks for {@link #QUERY_NANOS}.
+     */
+    private static class SimulatedDatabase implements ProductMapper {
+        private final String[] uuids = new String[CATALOG];
+        private final Map<String, Product> products = new HashMap<>();
+        private final AtomicLong queries = new AtomicLong();
+
+        SimulatedDatabase() {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < CATALOG; i++) {
+                Product product = Product.builder()
+                        .id((long) i + 1)
+                        .name("product-" + i)
+                        .description("description of product " + i)
+                        .price(Money.ofMinor(199L + i))
+                        .stockQuantity(i % 100)
+                        .isAvailable(true)
+                        .build();
+                product.setUuid(UUID.randomUUID().toString());
+                product.setCreatedAt(now);
+                product.setUpdatedAt(now);
+                product.setDeleted(false);
+                uuids[i] = product.getUuid();
+                products.put(product.getUuid(), product);
+            }
+        }
+
+        private void query() {
+            queries.incrementAndGet();
+            LockSupport.parkNanos(QUERY_NANOS);
+        }
+
+        @Override
+        public Product selectByUuid(String uuid) {
+            query();
+            return products.get(uuid);
+        }
+
+        @Override
+        public List<Product> selectVersionsByUuids(Collection<String> uuids) {
+            query();
+            List<Product> versions = new ArrayList<>(uuids.size());
+            for (String uuid : uuids) {
+                versions.add(products.get(uuid));
+            }
+            return versions;
+        }
+
+        @Override
+        public int insert(Product product) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Product selectProjectionByUuid(String uuid, ProductProjection projection) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateByUuid(Product product) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int deleteByUuid(String uuid) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.sheepion.demo.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.common.Result;
+import com.sheepion.demo.config.BootObjectMapper;
+import com.sheepion.demo.config.CborConfig;
+import com.sheepion.demo.vo.ProductVo;
+
+/**
+ * Compares payload size and encode/decode cost of a {@link Result} holding a
+ * list of {@link ProductVo}, as JSON and as CBOR. See {@link Measurement} on
+ * how to run it.
+ */
+public class WireFormatBenchmark {
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * What a Java client would decode a product list response into.
+     */
+    public static class ProductPage {
+        public int code;
+        public String message;
+        public List<ProductVo> data;
+    }
+
+    public static void main(String[] args) throws JsonProcessingException {
+        ObjectMapper json = BootObjectMapper.builder().build();
+        ObjectMapper cbor = CborConfig.cborObjectMapper(BootObjectMapper.builder());
+        Result page = page();
+
+        for (ObjectMapper mapper : List.of(json, cbor)) {
+            encode(mapper, page, WARMUP);
+            decode(mapper, mapper.writeValueAsBytes(page), WARMUP);
+        }
+        System.out.printf("%-5s %8s %12s %12s %12s %12s%n", "", "bytes", "enc ns/op", "enc B/op", "dec ns/op",
+                "dec B/op");
+        report("JSON", json, page);
+        report("CBOR", cbor, page);
+        System.out.println("sink: " + Measurement.sink());
+    }
+
+    private static Result page() {
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductVo> products = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            products.add(new ProductVo(UUID.randomUUID().toString(), "product-" + i, "description of product " + i,
+                    Money.ofMinor(199L + i * 37L), i * 3, i % 4 != 0, now.minusDays(i), now.minusHours(i)));
+        }
+        return Result.success(products);
+    }
+
+    private static Measurement encode(ObjectMapper mapper, Result page, int iterations) {
+        return Measurement.run(iterations, i -> mapper.writeValueAsBytes(page).length);
+    }
+
+    private static Measurement decode(ObjectMapper mapper, byte[] payload, int iterations) {
+        return Measurement.run(iterations, i -> mapper.readValue(payload, ProductPage.class).data.size());
+    }
+
+    private static void report(String name, ObjectMapper mapper, Result page) throws JsonProcessingException {
+        byte[] payload = mapper.writeValueAsBytes(page);
+        Measurement encode = encode(mapper, page, ITERATIONS);
+        Measurement decode = decode(mapper, payload, ITERATIONS);
+        System.out.printf("%-5s %8d %12.1f %12.1f %12.1f %12.1f%n", name, payload.length,
+                encode.nanosPerOp(), encode.bytesPerOp(), decode.nanosPerOp(), decode.bytesPerOp());
+    }
+}
@@ -0,0 +1,198 @@
+package com.sheepion.demo.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.mapper.ProductMapper;
+import com.sheepion.demo.model.Product;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("ProductCacheTest")
+class ProductCacheTest {
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 6, 7, 8, 9, 10);
+
+    @TempDir
+    Path dir;
+
+    private final ProductMapper productMapper = Mockito.mock(ProductMapper.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Path snapshotPath;
+    private ProductCache productCache;
+
+    private static Product product(String name) {
+        Product product = Product.builder()
+                .id((long) name.hashCode())
+                .name(name)
+                .price(Money.parse("1.00"))
+                .stockQuantity(1)
+                .isAvailable(true)
+                .build();
+        product.setUuid(UUID.randomUUID().toString());
+        product.setUpdatedAt(UPDATED_AT);
+        product.setDeleted(false);
+        return product;
+    }
+
+    /**
+     * What {@code selectVersionsByUuids} returns for a product.
+     */
+    private static Product version(Product product, LocalDateTime updatedAt, boolean deleted) {
+        Product version = new Product();
+        version.setUuid(product.getUuid());
+        version.setUpdatedAt(updatedAt);
+        version.setDeleted(deleted);
+        return version;
+    }
+
+    private double reads(String source) {
+        return meterRegistry.counter("product.cache.reads", "source", source).count();
+    }
+
+    /**
+     * Write a snapshot as the previous run would have, and start a new cache on
+     * it.
+     */
+    private void restartWith(Product... products) throws IOException {
+        ProductSnapshotFile.write(snapshotPath, List.of(products));
+        productCache.loadSnapshot();
+    }
+
+    @BeforeEach
+    void setUp() {
+        snapshotPath = dir.resolve("snapshot.bin");
+        ProductCacheProperties properties = new ProductCacheProperties();
+        properties.setSnapshotPath(snapshotPath.toString());
+        productCache = new ProductCache(properties, productMapper, meterRegistry);
+    }
+
+    @Nested
+    @DisplayName("get")
+    class GetTests {
+        @Test
+        @DisplayName("should serve snapshot products without the database")
+        void shouldServeFromSnapshot() throws IOException {
+            Product apple = product("Apple");
+            restartWith(apple);
+
+            Assertions.assertEquals(apple, productCache.get(apple.getUuid()));
+            Assertions.assertEquals(apple, productCache.get(apple.getUuid()));
+
+            Mockito.verifyNoInteractions(productMapper);
+            Assertions.assertEquals(1, reads("snapshot"));
+            Assertions.assertEquals(1, reads("cache"));
+        }
+
+        @Test
+        @DisplayName("should start cold when the snapshot is corrupt")
+        void shouldStartCold_whenSnapshotCorrupt() throws IOException {
+            Product apple = product("Apple");
+            ProductSnapshotFile.write(snapshotPath, List.of(apple));
+            byte[] bytes = Files.readAllBytes(snapshotPath);
+            Files.write(snapshotPath, Arrays.copyOf(bytes, bytes.length - 1));
+
+            Assertions.assertDoesNotThrow(productCache::loadSnapshot);
+            Assertions.assertNull(productCache.get(apple.getUuid()));
+            Assertions.assertEquals(1, reads("database"));
+        }
+
+        @Test
+        @DisplayName("should return null when product is in neither cache nor snapshot")
+        void shouldReturnNull_whenMissing() throws IOException {
+            restartWith(product("Apple"));
+
+            Assertions.assertNull(productCache.get(UUID.randomUUID().toString()));
+            Assertions.assertEquals(1, reads("database"));
+        }
+    }
+
+    @Nested
+    @DisplayName("revalidate")
+    class RevalidateTests {
+        @Test
+        @DisplayName("should evict products updated or deleted since the snapshot")
+        void shouldEvictStaleProducts() throws IOException {
+            Product unchanged = product("Unchanged");
+            Product updated = product("Updated");
+            Product softDeleted = product("SoftDeleted");
+            Product deleted = product("Deleted");
+            restartWith(unchanged, updated, softDeleted, deleted);
+            for (Product product : List.of(unchanged, updated, softDeleted, deleted)) {
+                productCache.get(product.getUuid());
+            }
+            Mockito.when(productMapper.selectVersionsByUuids(Mockito.anyCollection())).thenReturn(List.of(
+                    version(unchanged, UPDATED_AT, false),
+                    version(updated, UPDATED_AT.plusSeconds(1), false),
+                    version(softDeleted, UPDATED_AT, true)));
+
+            productCache.revalidate();
+
+            Assertions.assertEquals(unchanged, productCache.get(unchanged.getUuid()));
+            Assertions.assertNull(productCache.get(updated.getUuid()));
+            Assertions.assertNull(productCache.get(softDeleted.getUuid()));
+            Assertions.assertNull(productCache.get(deleted.getUuid()));
+            Mockito.verify(productMapper, Mockito.times(1)).selectVersionsByUuids(Mockito.anyCollection());
+        }
+
+        @Test
+        @DisplayName("should not query when nothing was served from the snapshot")
+        void shouldNotQuery_whenNothingPending() {
+            productCache.put(product("Apple"));
+            productCache.revalidate();
+            Mockito.verifyNoInteractions(productMapper);
+        }
+    }
+
+    @Nested
+    @DisplayName("writeSnapshot")
+    class WriteSnapshotTests {
+        @Test
+        @DisplayName("should leave out products not yet revalidated")
+        void shouldSkipUnverifiedProducts() throws IOException {
+            Product unverified = product("Unverified");
+            Product fresh = product("Fresh");
+            restartWith(unverified);
+            productCache.get(unverified.getUuid());
+            productCache.put(fresh);
+
+            productCache.writeSnapshot();
+
+            ProductSnapshotFile written = ProductSnapshotFile.load(snapshotPath);
+            Assertions.assertEquals(1, written.size());
+            Assertions.assertEquals(fresh, written.take(fresh.getUuid()));
+        }
+    }
+
+    @Test
+    @DisplayName("invalidateIdRange should drop products in the range and the snapshot")
+    void shouldDropRange_whenInvalidateIdRange() throws IOException {
+        Product fromSnapshot = product("FromSnapshot");
+        Product inRange = product("InRange");
+        Product outOfRange = product("OutOfRange");
+        inRange.setId(10L);
+        outOfRange.setId(20L);
+        restartWith(fromSnapshot);
+        productCache.put(inRange);
+        productCache.put(outOfRange);
+
+        productCache.invalidateIdRange(10L, 20L);
+
+        Assertions.assertNull(productCache.get(inRange.getUuid()));
+        Assertions.assertEquals(outOfRange, productCache.get(outOfRange.getUuid()));
+        Assertions.assertNull(productCache.get(fromSnapshot.getUuid()));
+    }
+}
@@ -0,0 +1,150 @@
+package com.sheepion.demo.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.model.Product;
+
+@DisplayName("ProductSnapshotFileTest")
+class ProductSnapshotFileTest {
+    @TempDir
+    Path dir;
+
+    private static Product product(String name, String description, String price, Integer stock, Boolean available) {
+        Product product = Product.builder()
+                .id((long) name.hashCode())
+                .name(name)
+                .description(description)
+                .price(Money.parse(price))
+                .stockQuantity(stock)
+                .isAvailable(available)
+                .build();
+        product.setUuid(UUID.randomUUID().toString());
+        product.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_000));
+        product.setUpdatedAt(LocalDateTime.of(2025, 6, 7, 8, 9, 10));
+        product.setDeleted(false);
+        return product;
+    }
+
+    @Test
+    @DisplayName("should read back every product once")
+    void shouldRoundTrip() throws IOException {
+        List<Product> products = List.of(
+                product("Potato", "Fresh Potato", "10.00", 1000, true),
+                product("Apple", null, "3.51", 200, false),
+                product("土豆", "新鲜的土豆", "0.05", null, null));
+        Path path = dir.resolve("snapshot.bin");
+
+        Assertions.assertEquals(3, ProductSnapshotFile.write(path, products));
+        ProductSnapshotFile snapshot = ProductSnapshotFile.load(path);
+        Assertions.assertEquals(3, snapshot.size());
+
+        for (Product expected : products) {
+            Product actual = snapshot.take(expected.getUuid());
+            Assertions.assertEquals(expected, actual);
+            Assertions.assertEquals(expected.getUuid(), actual.getUuid());
+            Assertions.assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+            Assertions.assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+            Assertions.assertEquals(expected.getDeleted(), actual.getDeleted());
+            // handed out once, then the cache owns it
+            Assertions.assertNull(snapshot.take(expected.getUuid()));
+        }
+        Assertions.assertNull(snapshot.take(UUID.randomUUID().toString()));
+        Assertions.assertTrue(snapshot.isExhausted());
+    }
+
+    @Test
+    @DisplayName("should hand out a record once under concurrent takes")
+    void shouldTakeOnce_whenConcurrent() throws Exception {
+        Product product = product("Potato", null, "10.00", 1, true);
+        Path path = dir.resolve("snapshot.bin");
+        ProductSnapshotFile.write(path, List.of(product));
+        ProductSnapshotFile snapshot = ProductSnapshotFile.load(path);
+
+        AtomicInteger taken = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                futures.add(executor.submit(() -> {
+                    if (snapshot.take(product.getUuid()) != null) {
+                        taken.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(1, taken.get());
+        Assertions.assertTrue(snapshot.isExhausted());
+    }
+
+    @Test
+    @DisplayName("should leave no temp file behind")
+    void shouldLeaveNoTempFile() throws IOException {
+        Path path = dir.resolve("snapshot.bin");
+        ProductSnapshotFile.write(path, List.of(product("Potato", null, "10.00", 1, true)));
+        ProductSnapshotFile.write(path, List.of(product("Apple", null, "3.51", 1, true)));
+        try (Stream<Path> files = Files.list(dir)) {
+            Assertions.assertEquals(List.of(path), files.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("should return null when file does not exist")
+    void shouldReturnNull_whenFileMissing() throws IOException {
+        Assertions.assertNull(ProductSnapshotFile.load(dir.resolve("missing.bin")));
+    }
+
+    @Test
+    @DisplayName("should throw exception when file is not a snapshot")
+    void shouldThrowException_whenFileInvalid() throws IOException {
+        Path path = dir.resolve("garbage.bin");
+        Files.writeString(path, "definitely not a snapshot");
+        Assertions.assertThrows(IOException.class, () -> ProductSnapshotFile.load(path));
+    }
+
+    @Test
+    @DisplayName("should throw exception when a record reaches past the file")
+    void shouldThrowException_whenRecordCorrupt() throws IOException {
+        Path path = dir.resolve("snapshot.bin");
+        ProductSnapshotFile.write(path, List.of(product("Potato", "Fresh Potato", "10.00", 1000, true)));
+        byte[] valid = Files.readAllBytes(path);
+        int offset = ByteBuffer.wrap(valid).getInt(12);
+
+        // valid header, one record at an offset far past the end
+        Files.write(path, ByteBuffer.allocate(16).put(valid, 0, 12).putInt(1_000_000).array());
+        Assertions.assertThrows(IOException.class, () -> ProductSnapshotFile.load(path));
+
+        // description cut short
+        Files.write(path, Arrays.copyOf(valid, valid.length - 1));
+        Assertions.assertThrows(IOException.class, () -> ProductSnapshotFile.load(path));
+
+        // name length, after uuid, id, price, stock, flags and both times
+        byte[] longName = valid.clone();
+        ByteBuffer.wrap(longName).putInt(offset + 81, Integer.MAX_VALUE);
+        Files.write(path, longName);
+        Assertions.assertThrows(IOException.class, () -> ProductSnapshotFile.load(path));
+    }
+}
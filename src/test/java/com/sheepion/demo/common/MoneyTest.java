@@ -0,0 +1,76 @@
+package com.sheepion.demo.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@DisplayName("MoneyTest")
+class MoneyTest {
+
+    @Nested
+    @DisplayName("parse")
+    class ParseTests {
+        @ParameterizedTest
+        @CsvSource({
+                "10, 1000",
+                "10.00, 1000",
+                "3.51, 351",
+                "4.2, 420",
+                "0.05, 5",
+                ".5, 50",
+                "7., 700",
+                "-1, -100",
+                "+2.30, 230",
+                "1.500, 150",
+                "99999999.99, 9999999999"
+        })
+        @DisplayName("should parse to minor units")
+        void shouldParseToMinorUnits(String text, long minorUnits) {
+            Assertions.assertEquals(minorUnits, Money.parse(text).getMinorUnits());
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = { "", "-", ".", "1,000", "1e3", "abc", "1.2.3" })
+        @DisplayName("should throw exception when text is not a plain decimal")
+        void shouldThrowException_whenTextIsInvalid(String text) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> Money.parse(text));
+        }
+
+        @Test
+        @DisplayName("should throw exception instead of rounding")
+        void shouldThrowException_whenTooManyFractionDigits() {
+            Assertions.assertThrows(ArithmeticException.class, () -> Money.parse("1.005"));
+        }
+    }
+
+    @Nested
+    @DisplayName("toString")
+    class ToStringTests {
+        @ParameterizedTest
+        @CsvSource({
+                "0, 0.00",
+                "5, 0.05",
+                "351, 3.51",
+                "1000, 10.00",
+                "-5, -0.05",
+                "-12345, -123.45"
+        })
+        @DisplayName("should format with two fraction digits")
+        void shouldFormatWithTwoFractionDigits(long minorUnits, String text) {
+            Assertions.assertEquals(text, Money.ofMinor(minorUnits).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("should compare by value")
+    void shouldCompareByValue() {
+        Assertions.assertEquals(Money.parse("4.20"), Money.parse("4.2"));
+        Assertions.assertTrue(Money.parse("-0.01").isNegative());
+        Assertions.assertTrue(Money.parse("3.51").compareTo(Money.parse("3.5")) > 0);
+        Assertions.assertEquals(Money.parse("7.02"), Money.parse("2.34").multiply(3));
+    }
+}
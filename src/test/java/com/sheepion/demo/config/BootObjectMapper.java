@@ -0,0 +1,22 @@
+package com.sheepion.demo.config;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sheepion.demo.common.Money;
+
+/**
+ * The Jackson setup Spring Boot brings, ISO dates and {@link Money} as string,
+ * without starting a context.
+ */
+public final class BootObjectMapper {
+    private BootObjectMapper() {
+    }
+
+    public static Jackson2ObjectMapperBuilder builder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializerByType(Money.class, new MoneyJsonComponent.Serializer())
+                .deserializerByType(Money.class, new MoneyJsonComponent.Deserializer());
+    }
+}
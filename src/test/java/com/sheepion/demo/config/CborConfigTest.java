@@ -0,0 +1,64 @@
+package com.sheepion.demo.config;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.common.Result;
+import com.sheepion.demo.vo.ProductVo;
+
+@DisplayName("CborConfigTest")
+class CborConfigTest {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_000_000);
+
+    private static ProductVo product() {
+        return new ProductVo("0f8fad5b-d9cb-469f-a165-70867728950e", "apple", null, Money.parse("3.50"),
+                10, true, CREATED_AT, CREATED_AT.plusHours(1));
+    }
+
+    private final ObjectMapper cborMapper = CborConfig.cborObjectMapper(BootObjectMapper.builder());
+    private final ObjectMapper jsonMapper = BootObjectMapper.builder().build();
+
+    @Test
+    @DisplayName("should write timestamps as epoch millis and money as string")
+    void shouldWriteEpochMillis() throws Exception {
+        byte[] bytes = cborMapper.writeValueAsBytes(Result.success(List.of(product())));
+
+        JsonNode product = cborMapper.readTree(bytes).get("data").get(0);
+        Assertions.assertTrue(product.get("createdAt").isIntegralNumber());
+        Assertions.assertEquals(CREATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                product.get("createdAt").longValue());
+        Assertions.assertEquals("3.50", product.get("price").textValue());
+        // a full product sends unset fields as null
+        Assertions.assertTrue(product.get("description").isNull());
+    }
+
+    @Test
+    @DisplayName("should read back the same product")
+    void shouldRoundTrip() throws Exception {
+        byte[] bytes = cborMapper.writeValueAsBytes(product());
+        Assertions.assertEquals(product(), cborMapper.readValue(bytes, ProductVo.class));
+    }
+
+    @Test
+    @DisplayName("should keep ISO timestamps for JSON")
+    void shouldKeepJsonUnchanged() throws Exception {
+        JsonNode product = jsonMapper.readTree(jsonMapper.writeValueAsBytes(product()));
+        Assertions.assertEquals("2024-05-01T10:30:15.123", product.get("createdAt").textValue());
+    }
+
+    @Test
+    @DisplayName("should be smaller than JSON")
+    void shouldBeSmallerThanJson() throws Exception {
+        Result result = Result.success(List.of(product(), product(), product()));
+        Assertions.assertTrue(cborMapper.writeValueAsBytes(result).length
+                < jsonMapper.writeValueAsBytes(result).length);
+    }
+}
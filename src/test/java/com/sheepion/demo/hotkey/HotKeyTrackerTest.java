@@ -0,0 +1,86 @@
+package com.sheepion.demo.hotkey;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HotKeyTrackerTest")
+class HotKeyTrackerTest {
+    private final List<HotKeysChangedEvent> events = new ArrayList<>();
+
+    private HotKeyTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        HotKeyProperties properties = new HotKeyProperties();
+        properties.setTopK(3);
+        properties.setBuckets(2);
+        events.clear();
+        tracker = new HotKeyTracker(properties, event -> events.add((HotKeysChangedEvent) event));
+    }
+
+    @Test
+    @DisplayName("should keep the most accessed keys, hottest first")
+    void shouldKeepMostAccessedKeys() {
+        for (int i = 0; i < 1000; i++) {
+            tracker.record("cold-" + i);
+        }
+        for (int i = 0; i < 50; i++) {
+            tracker.record("hot-a");
+            tracker.record("hot-b");
+            tracker.record("hot-b");
+            tracker.record("hot-c");
+            tracker.record("hot-c");
+            tracker.record("hot-c");
+        }
+
+        List<HotKey> hotKeys = tracker.topKeys();
+        Assertions.assertEquals(List.of("hot-c", "hot-b", "hot-a"),
+                hotKeys.stream().map(HotKey::getKey).toList());
+        // count-min never under-estimates
+        Assertions.assertTrue(hotKeys.get(0).getEstimatedCount() >= 150);
+    }
+
+    @Test
+    @DisplayName("should keep resident keys when new keys only tie with them")
+    void shouldKeepResidentKeys_whenTied() {
+        for (String key : List.of("hot-a", "hot-b", "hot-c")) {
+            tracker.record(key);
+            tracker.record(key);
+        }
+        for (int i = 0; i < 100; i++) {
+            tracker.record("new-" + i);
+            tracker.record("new-" + i);
+        }
+
+        Assertions.assertEquals(List.of("hot-a", "hot-b", "hot-c"),
+                tracker.topKeys().stream().map(HotKey::getKey).toList());
+
+        // one more access is enough to take a spot
+        tracker.record("new-0");
+        Assertions.assertEquals("new-0", tracker.topKeys().get(0).getKey());
+    }
+
+    @Test
+    @DisplayName("should publish changes and forget keys once they leave the window")
+    void shouldPublishChanges_whenWindowSlides() {
+        tracker.record("hot-a");
+        // the access is still in the window
+        tracker.rotate();
+        Assertions.assertEquals(1, events.size());
+        Assertions.assertEquals(Set.of("hot-a"), events.get(0).getAdded());
+        Assertions.assertEquals(1, tracker.estimate("hot-a"));
+
+        // with two buckets, the bucket holding the access is dropped now
+        tracker.rotate();
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertEquals(Set.of("hot-a"), events.get(1).getRemoved());
+        Assertions.assertTrue(tracker.topKeys().isEmpty());
+        Assertions.assertEquals(0, tracker.estimate("hot-a"));
+    }
+}
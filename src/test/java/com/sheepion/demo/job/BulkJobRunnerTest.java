@@ -0,0 +1,162 @@
+package com.sheepion.demo.job;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sheepion.demo.cache.ProductCache;
+import com.sheepion.demo.mapper.BulkJobMapper;
+import com.sheepion.demo.model.BulkJob;
+import com.sheepion.demo.model.BulkJobChunk;
+import com.sheepion.demo.model.BulkJobStatus;
+
+@DisplayName("BulkJobRunnerTest")
+class BulkJobRunnerTest {
+    private static final long TIMEOUT_MILLIS = 5_000L;
+
+    private final BulkJobMapper bulkJobMapper = Mockito.mock(BulkJobMapper.class);
+    private final ProductCache productCache = Mockito.mock(ProductCache.class);
+    private final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+    private final BulkJobProperties properties = new BulkJobProperties();
+    private BulkJobRunner runner;
+
+    private static BulkJob job() {
+        BulkJob job = BulkJob.builder().id(1L).status(BulkJobStatus.PENDING).build();
+        job.setUuid("test-uuid-12345");
+        return job;
+    }
+
+    private static BulkJobChunk chunk(int chunkNo) {
+        return new BulkJobChunk(1L, chunkNo, chunkNo * 100L, (chunkNo + 1) * 100L);
+    }
+
+    private void verifyNotFailed() {
+        Mockito.verify(bulkJobMapper, Mockito.never())
+                .updateStatus(Mockito.argThat(job -> job.getStatus() == BulkJobStatus.FAILED));
+    }
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(transactionManager.getTransaction(Mockito.any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        // one worker, so chunks are claimed in order
+        properties.setWorkers(1);
+        runner = new BulkJobRunner(bulkJobMapper, properties, new TransactionTemplate(transactionManager), productCache);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        runner.shutdown();
+    }
+
+    @Nested
+    @DisplayName("start")
+    class StartTests {
+        @Test
+        @DisplayName("should apply every chunk, evict its products and complete")
+        void shouldComplete_whenAllChunksApplied() {
+            BulkJob job = job();
+            Mockito.when(bulkJobMapper.claimChunk(1L)).thenReturn(chunk(0), chunk(1), null);
+            Mockito.when(bulkJobMapper.applyChunk(Mockito.eq(job), Mockito.any(), Mockito.any())).thenReturn(7);
+            Mockito.when(bulkJobMapper.complete(Mockito.any())).thenReturn(1);
+
+            runner.start(job);
+
+            Mockito.verify(bulkJobMapper, Mockito.timeout(TIMEOUT_MILLIS)).complete(Mockito.any());
+            Assertions.assertEquals(BulkJobStatus.RUNNING, job.getStatus());
+            Mockito.verify(bulkJobMapper).markChunkDone(chunk(0), 7);
+            Mockito.verify(bulkJobMapper).markChunkDone(chunk(1), 7);
+            Mockito.verify(productCache).invalidateIdRange(0L, 100L);
+            Mockito.verify(productCache).invalidateIdRange(100L, 200L);
+            verifyNotFailed();
+        }
+
+        @Test
+        @DisplayName("should mark the job failed when a chunk fails")
+        void shouldFail_whenChunkFails() {
+            BulkJob job = job();
+            Mockito.when(bulkJobMapper.claimChunk(1L)).thenReturn(chunk(0));
+            Mockito.when(bulkJobMapper.applyChunk(Mockito.eq(job), Mockito.any(), Mockito.any()))
+                    .thenThrow(new IllegalStateException("boom"));
+
+            runner.start(job);
+
+            Mockito.verify(bulkJobMapper, Mockito.timeout(TIMEOUT_MILLIS)).updateStatus(Mockito.argThat(
+                    failed -> failed.getStatus() == BulkJobStatus.FAILED && "boom".equals(failed.getError())));
+            Mockito.verify(transactionManager).rollback(Mockito.any());
+            Mockito.verify(bulkJobMapper, Mockito.never()).markChunkDone(Mockito.any(), Mockito.anyInt());
+            Mockito.verify(bulkJobMapper, Mockito.never()).complete(Mockito.any());
+        }
+    }
+
+    @Nested
+    @DisplayName("resumeInterrupted")
+    class ResumeTests {
+        @Test
+        @DisplayName("should start jobs left running")
+        void shouldStartRunningJobs() {
+            BulkJob job = job();
+            Mockito.when(bulkJobMapper.selectByStatus(BulkJobStatus.RUNNING)).thenReturn(List.of(job));
+
+            runner.resumeInterrupted();
+
+            Mockito.verify(bulkJobMapper).updateStatus(job);
+            Mockito.verify(bulkJobMapper, Mockito.timeout(TIMEOUT_MILLIS)).complete(Mockito.any());
+        }
+
+        @Test
+        @DisplayName("should do nothing when disabled")
+        void shouldSkip_whenDisabled() {
+            properties.setResumeOnStartup(false);
+
+            runner.resumeInterrupted();
+
+            Mockito.verifyNoInteractions(bulkJobMapper);
+        }
+    }
+
+    @Test
+    @DisplayName("shutdown should let the chunk in flight commit and leave the job running")
+    void shouldStopAfterCurrentChunk_whenShutdown() throws Exception {
+        BulkJob job = job();
+        CountDownLatch applying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(bulkJobMapper.claimChunk(1L)).thenReturn(chunk(0), chunk(1), null);
+        Mockito.when(bulkJobMapper.applyChunk(Mockito.eq(job), Mockito.any(), Mockito.any())).thenAnswer(invocation -> {
+            applying.countDown();
+            release.await();
+            return 1;
+        });
+
+        runner.start(job);
+        applying.await();
+        Thread shutdown = new Thread(() -> {
+            try {
+                runner.shutdown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        shutdown.start();
+        // shutdown has raised its flag once it waits for the workers
+        while (shutdown.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        shutdown.join();
+
+        Mockito.verify(bulkJobMapper).markChunkDone(chunk(0), 1);
+        Mockito.verify(bulkJobMapper, Mockito.times(1)).claimChunk(1L);
+        Mockito.verify(bulkJobMapper, Mockito.never()).complete(Mockito.any());
+        verifyNotFailed();
+    }
+}
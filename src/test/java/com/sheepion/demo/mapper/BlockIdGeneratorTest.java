@@ -0,0 +1,82 @@
+package com.sheepion.demo.mapper;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+import com.sheepion.demo.common.BlockIdGenerator;
+
+import jakarta.annotation.Resource;
+
+@MybatisTest
+@Import({ TestcontainersConfiguration.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("BlockIdGeneratorTest")
+class BlockIdGeneratorTest {
+    @Resource
+    private BlockIdGenerator productIdGenerator;
+
+    @Resource
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("should hand out unique ids across threads and blocks")
+    void shouldHandOutUniqueIds() throws InterruptedException {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 500; j++) {
+                    Assertions.assertTrue(ids.add(productIdGenerator.nextId()));
+                }
+            });
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        Assertions.assertEquals(8 * 500, ids.size());
+    }
+
+    @Test
+    @DisplayName("should not collide with ids from the BIGSERIAL default")
+    void shouldNotCollide_withColumnDefault() throws SQLException {
+        Set<Long> handedOut = new HashSet<>();
+        handedOut.add(productIdGenerator.nextId());
+
+        // insert through the column default, the way a migration or another service would
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        long defaultId;
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("""
+                        INSERT INTO products(uuid, name, price)
+                        VALUES ('00000000-0000-0000-0000-000000000001', 'Potato', 10)
+                        RETURNING id
+                        """)) {
+            rs.next();
+            defaultId = rs.getLong(1);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            handedOut.add(productIdGenerator.nextId());
+        }
+        Assertions.assertFalse(handedOut.contains(defaultId));
+    }
+}
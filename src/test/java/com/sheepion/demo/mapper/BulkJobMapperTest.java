@@ -0,0 +1,160 @@
+package com.sheepion.demo.mapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.model.BulkJob;
+import com.sheepion.demo.model.BulkJobChunk;
+import com.sheepion.demo.model.BulkJobStatus;
+import com.sheepion.demo.model.BulkJobType;
+import com.sheepion.demo.model.Product;
+
+import jakarta.annotation.Resource;
+
+@MybatisTest
+@Import({ TestcontainersConfiguration.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("BulkJobMapperTest")
+class BulkJobMapperTest {
+    @Resource
+    private BulkJobMapper bulkJobMapper;
+
+    @Resource
+    private ProductMapper productMapper;
+
+    private Product insertProduct(String price, boolean available) {
+        Product product = Product.builder()
+                .name("Potato")
+                .price(Money.parse(price))
+                .stockQuantity(10)
+                .isAvailable(available)
+                .build();
+        productMapper.insert(product);
+        return product;
+    }
+
+    private BulkJob insertJob(BulkJob job) {
+        job.setChunkSize(1_000_000);
+        job.setStatus(BulkJobStatus.RUNNING);
+        bulkJobMapper.insert(job);
+        return job;
+    }
+
+    /**
+     * A chunk over exactly the given products, the table may hold rows of other tests.
+     */
+    private BulkJobChunk chunkOf(BulkJob job, Product... products) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (Product product : products) {
+            min = Math.min(min, product.getId());
+            max = Math.max(max, product.getId());
+        }
+        return new BulkJobChunk(job.getId(), 0, min, max + 1);
+    }
+
+    @Test
+    @DisplayName("should reprice filtered products")
+    void shouldRepriceFilteredProducts() {
+        Product cheap = insertProduct("5.00", true);
+        Product expensive = insertProduct("100.00", true);
+        Product unavailable = insertProduct("200.00", false);
+        BulkJob job = insertJob(BulkJob.builder()
+                .type(BulkJobType.REPRICE_PERCENT)
+                .percent(BigDecimal.valueOf(-12.5))
+                .minPrice(Money.parse("10.00"))
+                .filterAvailable(true)
+                .build());
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        int rows = bulkJobMapper.applyChunk(job, chunkOf(job, cheap, expensive, unavailable), now);
+
+        Assertions.assertEquals(1, rows);
+        Assertions.assertEquals(Money.parse("5.00"), productMapper.selectByUuid(cheap.getUuid()).getPrice());
+        Product repriced = productMapper.selectByUuid(expensive.getUuid());
+        Assertions.assertEquals(Money.parse("87.50"), repriced.getPrice());
+        Assertions.assertEquals(now, repriced.getUpdatedAt());
+        Assertions.assertEquals(Money.parse("200.00"), productMapper.selectByUuid(unavailable.getUuid()).getPrice());
+    }
+
+    @Test
+    @DisplayName("should not let absolute repricing go below zero")
+    void shouldClampPriceAtZero() {
+        Product product = insertProduct("1.00", true);
+        BulkJob job = insertJob(BulkJob.builder()
+                .type(BulkJobType.REPRICE_ABSOLUTE)
+                .amount(Money.parse("-2.00"))
+                .build());
+
+        bulkJobMapper.applyChunk(job, chunkOf(job, product), LocalDateTime.now());
+        Assertions.assertEquals(Money.ZERO, productMapper.selectByUuid(product.getUuid()).getPrice());
+    }
+
+    @Test
+    @DisplayName("should not touch products already at the target value")
+    void shouldSkipUnchangedProducts() {
+        Product available = insertProduct("1.00", true);
+        Product unavailable = insertProduct("1.00", false);
+        // as stored, the column keeps microseconds only
+        LocalDateTime unavailableUpdatedAt = productMapper.selectByUuid(unavailable.getUuid()).getUpdatedAt();
+        BulkJob job = insertJob(BulkJob.builder()
+                .type(BulkJobType.SET_AVAILABILITY)
+                .available(false)
+                .build());
+
+        int rows = bulkJobMapper.applyChunk(job, chunkOf(job, available, unavailable),
+                LocalDateTime.now().plusDays(1));
+
+        Assertions.assertEquals(1, rows);
+        Assertions.assertFalse(productMapper.selectByUuid(available.getUuid()).getIsAvailable());
+        // updated_at only moves for rows that changed
+        Assertions.assertEquals(unavailableUpdatedAt,
+                productMapper.selectByUuid(unavailable.getUuid()).getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("should report progress and complete once every chunk is done")
+    void shouldComplete_whenAllChunksDone() {
+        insertProduct("1.00", true);
+        BulkJob job = insertJob(BulkJob.builder()
+                .type(BulkJobType.SET_AVAILABILITY)
+                .available(true)
+                .build());
+        int chunks = bulkJobMapper.insertChunks(job.getId(), job.getChunkSize());
+        Assertions.assertTrue(chunks >= 1);
+
+        BulkJob submitted = bulkJobMapper.selectByUuid(job.getUuid());
+        Assertions.assertEquals(chunks, submitted.getChunksTotal());
+        Assertions.assertEquals(0, submitted.getChunksDone());
+        Assertions.assertEquals(0, bulkJobMapper.complete(job));
+
+        BulkJobChunk chunk;
+        while ((chunk = bulkJobMapper.claimChunk(job.getId())) != null) {
+            bulkJobMapper.markChunkDone(chunk, 3);
+        }
+
+        Assertions.assertEquals(1, bulkJobMapper.complete(job));
+        BulkJob completed = bulkJobMapper.selectByUuid(job.getUuid());
+        Assertions.assertEquals(BulkJobStatus.COMPLETED, completed.getStatus());
+        Assertions.assertEquals(chunks, completed.getChunksDone());
+        Assertions.assertEquals(3L * chunks, completed.getRowsAffected());
+    }
+
+    @Test
+    @DisplayName("should return null when uuid is longer than 36 chars")
+    void shouldReturnNull_whenUuidTooLong() {
+        BulkJob job = insertJob(BulkJob.builder()
+                .type(BulkJobType.SET_AVAILABILITY)
+                .available(true)
+                .build());
+        Assertions.assertNull(bulkJobMapper.selectByUuid(job.getUuid() + "garbage"));
+    }
+}
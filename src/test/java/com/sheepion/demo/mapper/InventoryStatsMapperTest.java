@@ -0,0 +1,250 @@
+package com.sheepion.demo.mapper;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.job.InventoryStatsJob;
+import com.sheepion.demo.job.InventoryStatsProperties;
+import com.sheepion.demo.model.InventoryStats;
+import com.sheepion.demo.model.Product;
+
+import jakarta.annotation.Resource;
+
+@MybatisTest
+@Import({ TestcontainersConfiguration.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("InventoryStatsMapperTest")
+class InventoryStatsMapperTest {
+    @Resource
+    private InventoryStatsMapper inventoryStatsMapper;
+
+    @Resource
+    private ProductMapper productMapper;
+
+    @Resource
+    private DataSource dataSource;
+
+    @Resource
+    private SqlSessionTemplate sqlSessionTemplate;
+
+    @Resource
+    private PlatformTransactionManager transactionManager;
+
+    void assertStatsEquals(InventoryStats expected, InventoryStats actual) {
+        Assertions.assertEquals(expected.getProductCount(), actual.getProductCount());
+        Assertions.assertEquals(expected.getAvailableCount(), actual.getAvailableCount());
+        Assertions.assertEquals(expected.getTotalStock(), actual.getTotalStock());
+        Assertions.assertEquals(expected.getStockValueCents(), actual.getStockValueCents());
+    }
+
+    /**
+     * Read a single number in the test transaction, bypassing the mappers.
+     */
+    long selectLong(String sql) throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Run plain SQL in the test transaction, bypassing the mappers.
+     */
+    int execute(String sql) throws SQLException {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate(sql);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+            // MyBatis doesn't see this write, drop the selects it cached in the session
+            sqlSessionTemplate.clearCache();
+        }
+    }
+
+    Product insertProduct(String name, String price, int stock, boolean available) {
+        Product product = Product.builder()
+                .name(name)
+                .price(Money.parse(price))
+                .stockQuantity(stock)
+                .isAvailable(available)
+                .build();
+        productMapper.insert(product);
+        return product;
+    }
+
+    InventoryStatsJob inventoryStatsJob(boolean repairOnMismatch) {
+        InventoryStatsProperties properties = new InventoryStatsProperties();
+        properties.setRepairOnMismatch(repairOnMismatch);
+        return new InventoryStatsJob(inventoryStatsMapper, properties, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    @DisplayName("should apply inserts as deltas and keep them when folded")
+    void shouldApplyDeltas_whenProductsInserted() {
+        InventoryStats before = inventoryStatsMapper.selectStats();
+
+        productMapper.insert(Product.builder()
+                .name("Potato")
+                .price(Money.parse("10.00"))
+                .stockQuantity(1000)
+                .isAvailable(true)
+                .build());
+        productMapper.insert(Product.builder()
+                .name("Apple")
+                .price(Money.parse("3.51"))
+                .stockQuantity(200)
+                .isAvailable(false)
+                .build());
+
+        InventoryStats after = inventoryStatsMapper.selectStats();
+        Assertions.assertEquals(before.getProductCount() + 2, after.getProductCount());
+        Assertions.assertEquals(before.getAvailableCount() + 1, after.getAvailableCount());
+        Assertions.assertEquals(before.getTotalStock() + 1200, after.getTotalStock());
+        // 10.00 * 1000 + 3.51 * 200 = 10702.00
+        Assertions.assertEquals(before.getStockValueCents() + 1_070_200, after.getStockValueCents());
+        assertStatsEquals(inventoryStatsMapper.selectStatsByFullScan(), after);
+
+        inventoryStatsMapper.fold();
+        assertStatsEquals(after, inventoryStatsMapper.selectStats());
+    }
+
+    @Test
+    @DisplayName("fold should skip shards held by another writer")
+    void shouldSkipLockedShards_whenFold() throws SQLException {
+        productMapper.insert(Product.builder()
+                .name("Potato")
+                .price(Money.parse("10.00"))
+                .stockQuantity(1000)
+                .isAvailable(true)
+                .build());
+        InventoryStats before = inventoryStatsMapper.selectStats();
+        // the shard the trigger picked, this transaction holds it now
+        long ownShard = selectLong("SELECT pg_backend_pid() % 16");
+        // waiting on the writer would fail fast instead of hanging
+        execute("SET LOCAL lock_timeout = '1s'");
+
+        Connection writer = dataSource.getConnection();
+        try {
+            writer.setAutoCommit(false);
+            try (Statement statement = writer.createStatement()) {
+                statement.execute("SELECT shard FROM product_stats_shards WHERE shard <> " + ownShard + " FOR UPDATE");
+            }
+            inventoryStatsMapper.fold();
+            Assertions.assertEquals(0, selectLong(
+                    "SELECT product_count FROM product_stats_shards WHERE shard = " + ownShard));
+        } finally {
+            writer.rollback();
+            writer.close();
+        }
+        assertStatsEquals(before, inventoryStatsMapper.selectStats());
+    }
+
+    @Test
+    @DisplayName("should match full scan after repair")
+    void shouldMatchFullScan_whenRepaired() {
+        inventoryStatsMapper.lockProducts();
+        inventoryStatsMapper.repairFromFullScan();
+        assertStatsEquals(inventoryStatsMapper.selectStatsByFullScan(), inventoryStatsMapper.selectStats());
+    }
+
+    @Nested
+    @DisplayName("triggers")
+    class TriggerTests {
+        /**
+         * Each statement runs against two products, {@code :a} and {@code :b}
+         * are replaced with their uuids.
+         */
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "UPDATE products SET stock_quantity = stock_quantity + 5 WHERE uuid = :a",
+                "UPDATE products SET stock_quantity = 0 WHERE uuid IN (:a, :b)",
+                "UPDATE products SET price = price * 2 WHERE uuid = :a",
+                "UPDATE products SET is_available = NOT is_available WHERE uuid IN (:a, :b)",
+                "UPDATE products SET deleted = true WHERE uuid = :a",
+                "UPDATE products SET deleted = NOT deleted WHERE uuid IN (:a, :b)",
+                "UPDATE products SET name = 'Renamed' WHERE uuid = :a",
+                "DELETE FROM products WHERE uuid = :a",
+                "DELETE FROM products WHERE uuid IN (:a, :b)"
+        })
+        @DisplayName("should apply the change as deltas matching a full scan")
+        void shouldMatchFullScan_whenProductsChanged(String sql) throws SQLException {
+            Product a = insertProduct("Potato", "10.00", 1000, true);
+            Product b = insertProduct("Apple", "3.51", 200, false);
+            // b starts soft deleted, so flipping deleted restores it
+            execute("UPDATE products SET deleted = true WHERE uuid = '" + b.getUuid() + "'");
+            InventoryStats stats = inventoryStatsMapper.selectStats();
+            InventoryStats scan = inventoryStatsMapper.selectStatsByFullScan();
+
+            Assertions.assertTrue(execute(sql.replace(":a", "'" + a.getUuid() + "'")
+                    .replace(":b", "'" + b.getUuid() + "'")) > 0);
+
+            // compare the changes only, other tests may share the table
+            InventoryStats statsAfter = inventoryStatsMapper.selectStats();
+            InventoryStats scanAfter = inventoryStatsMapper.selectStatsByFullScan();
+            Assertions.assertEquals(scanAfter.getProductCount() - scan.getProductCount(),
+                    statsAfter.getProductCount() - stats.getProductCount());
+            Assertions.assertEquals(scanAfter.getAvailableCount() - scan.getAvailableCount(),
+                    statsAfter.getAvailableCount() - stats.getAvailableCount());
+            Assertions.assertEquals(scanAfter.getTotalStock() - scan.getTotalStock(),
+                    statsAfter.getTotalStock() - stats.getTotalStock());
+            Assertions.assertEquals(scanAfter.getStockValueCents() - scan.getStockValueCents(),
+                    statsAfter.getStockValueCents() - stats.getStockValueCents());
+        }
+    }
+
+    @Nested
+    @DisplayName("reconcile")
+    class ReconcileTests {
+        @Test
+        @DisplayName("should report a match when the stats are repaired")
+        void shouldMatch_whenConsistent() {
+            InventoryStatsJob job = inventoryStatsJob(false);
+            inventoryStatsMapper.lockProducts();
+            inventoryStatsMapper.repairFromFullScan();
+            Assertions.assertTrue(job.reconcile());
+        }
+
+        @Test
+        @DisplayName("should detect drift and leave it when repair is off")
+        void shouldDetectDrift_whenRepairOff() throws SQLException {
+            execute("UPDATE product_stats SET product_count = product_count + 1");
+
+            Assertions.assertFalse(inventoryStatsJob(false).reconcile());
+            Assertions.assertFalse(inventoryStatsJob(false).reconcile());
+        }
+
+        @Test
+        @DisplayName("should repair drift from a full scan when repair is on")
+        void shouldRepairDrift_whenRepairOn() throws SQLException {
+            insertProduct("Potato", "10.00", 1000, true);
+            execute("UPDATE product_stats_shards SET total_stock = total_stock - 7");
+
+            Assertions.assertFalse(inventoryStatsJob(true).reconcile());
+
+            assertStatsEquals(inventoryStatsMapper.selectStatsByFullScan(), inventoryStatsMapper.selectStats());
+            Assertions.assertTrue(inventoryStatsJob(false).reconcile());
+        }
+    }
+}
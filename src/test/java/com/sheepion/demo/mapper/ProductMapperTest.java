@@ -1,17 +1,28 @@
 package com.sheepion.demo.mapper;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mybatis.spring.SqlSessionTemplate;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.core.Oid;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.context.annotation.Import;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
 
 import com.sheepion.demo.model.Product;
+import com.sheepion.demo.model.ProductProjection;
 
 import jakarta.annotation.Resource;
 import lombok.extern.slf4j.Slf4j;
@@ -29,13 +40,18 @@ class ProductMapperTest {
     @Resource
     private ProductMapper productMapper;
 
+    @Resource
+    private DataSource dataSource;
+
+    @Resource
+    private SqlSessionTemplate sqlSessionTemplate;
+
     void assertProductEquals(Product expected, Product actual) {
         Assertions.assertEquals(expected.getId(), actual.getId());
         Assertions.assertEquals(expected.getUuid(), actual.getUuid());
         Assertions.assertEquals(expected.getName(), actual.getName());
         Assertions.assertEquals(expected.getDescription(), actual.getDescription());
-        // use BigDecimal.compareTo to compare the price
-        Assertions.assertEquals(0, expected.getPrice().compareTo(actual.getPrice()));
+        Assertions.assertEquals(expected.getPrice(), actual.getPrice());
         Assertions.assertEquals(expected.getStockQuantity(), actual.getStockQuantity());
         Assertions.assertEquals(expected.getIsAvailable(), actual.getIsAvailable());
         Assertions.assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
@@ -115,5 +131,102 @@ class ProductMapperTest {
             // check the product
             Assertions.assertNull(selectedProduct);
         }
+
+        @ParameterizedTest
+        @MethodSource("com.sheepion.demo.mapper.data.ProductTestData#validProducts")
+        @DisplayName("should return null when uuid is longer than 36 chars")
+        void shouldReturnNull_whenUuidTooLong(Product product) {
+            productMapper.insert(product);
+            // must not be truncated to the real uuid
+            Assertions.assertNull(productMapper.selectByUuid(product.getUuid() + "garbage"));
+        }
+
+        @ParameterizedTest
+        @MethodSource("com.sheepion.demo.mapper.data.ProductTestData#validProducts")
+        @DisplayName("should keep reading price as text once the statement is server prepared")
+        void shouldReadPriceAsText_whenServerPrepared(Product product) throws SQLException {
+            productMapper.insert(product);
+            // pgjdbc prepares on the server after prepareThreshold (5) runs on a connection
+            for (int i = 0; i < 10; i++) {
+                sqlSessionTemplate.clearCache();
+                Assertions.assertEquals(product.getPrice(), productMapper.selectByUuid(product.getUuid()).getPrice());
+            }
+            // a binary NUMERIC would be read through a BigDecimal, see MoneyTypeHandler
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                Assertions.assertFalse(connection.unwrap(BaseConnection.class).getQueryExecutor()
+                        .getBinaryReceiveOids().contains(Oid.NUMERIC));
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("selectProjectionByUuid")
+    class SelectProjectionByUuidTests {
+
+        @ParameterizedTest
+        @MethodSource("com.sheepion.demo.mapper.data.ProductTestData#validProducts")
+        @DisplayName("should only return projected fields")
+        void shouldOnlyReturnProjectedFields(Product product) {
+            productMapper.insert(product);
+            Product selected = productMapper.selectProjectionByUuid(product.getUuid(),
+                    ProductProjection.parse("name,price,stockQuantity"));
+            // uuid is always included
+            Assertions.assertEquals(product.getUuid(), selected.getUuid());
+            Assertions.assertEquals(product.getName(), selected.getName());
+            Assertions.assertEquals(product.getPrice(), selected.getPrice());
+            Assertions.assertEquals(product.getStockQuantity(), selected.getStockQuantity());
+            // not projected
+            Assertions.assertNull(selected.getId());
+            Assertions.assertNull(selected.getDescription());
+            Assertions.assertNull(selected.getIsAvailable());
+            Assertions.assertNull(selected.getCreatedAt());
+        }
+
+        @Test
+        @DisplayName("should return null when product not found")
+        void shouldReturnNull_whenProductNotFound() {
+            Assertions.assertNull(productMapper.selectProjectionByUuid("not-found", ProductProjection.parse("name")));
+        }
+
+        @ParameterizedTest
+        @MethodSource("com.sheepion.demo.mapper.data.ProductTestData#validProducts")
+        @DisplayName("should return null when uuid is longer than 36 chars")
+        void shouldReturnNull_whenUuidTooLong(Product product) {
+            productMapper.insert(product);
+            Assertions.assertNull(productMapper.selectProjectionByUuid(product.getUuid() + "garbage",
+                    ProductProjection.parse("name")));
+        }
+    }
+
+    @Nested
+    @DisplayName("selectVersionsByUuids")
+    class SelectVersionsByUuidsTests {
+
+        @ParameterizedTest
+        @MethodSource("com.sheepion.demo.mapper.data.ProductTestData#validProducts")
+        @DisplayName("should return uuid, updatedAt and deleted of found products")
+        void shouldReturnVersions(Product product) {
+            productMapper.insert(product);
+            List<Product> versions = productMapper.selectVersionsByUuids(List.of(product.getUuid(), "not-found"));
+            Assertions.assertEquals(1, versions.size());
+            Product version = versions.get(0);
+            Assertions.assertEquals(product.getUuid(), version.getUuid());
+            // as stored, the column keeps microseconds only
+            Assertions.assertEquals(productMapper.selectByUuid(product.getUuid()).getUpdatedAt(),
+                    version.getUpdatedAt());
+            Assertions.assertFalse(version.getDeleted());
+            Assertions.assertNull(version.getName());
+        }
+
+        @ParameterizedTest
+        @MethodSource("com.sheepion.demo.mapper.data.ProductTestData#validProducts")
+        @DisplayName("should skip uuids longer than 36 chars")
+        void shouldSkip_whenUuidTooLong(Product product) {
+            productMapper.insert(product);
+            Assertions.assertTrue(productMapper.selectVersionsByUuids(List.of(product.getUuid() + "garbage")).isEmpty());
+        }
     }
 }
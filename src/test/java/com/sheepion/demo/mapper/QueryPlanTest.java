@@ -0,0 +1,347 @@
+package com.sheepion.demo.mapper;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.model.BulkJob;
+import com.sheepion.demo.model.BulkJobChunk;
+import com.sheepion.demo.model.BulkJobStatus;
+import com.sheepion.demo.model.BulkJobType;
+import com.sheepion.demo.model.Product;
+import com.sheepion.demo.model.ProductProjection;
+
+import jakarta.annotation.Resource;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guards the query plans of every mapped statement against a realistically
+ * sized products table.
+ * <p>
+ * Each statement is run through {@code EXPLAIN (FORMAT JSON)} with
+ * representative parameters, bound by MyBatis the same way as at runtime.
+ * Selects are also run with {@code ANALYZE, BUFFERS}, DML is only planned. A
+ * statement fails when it seq scans a table it should reach through an index,
+ * or goes over its cost or buffer budget. A new statement without an entry in
+ * {@link #expectations()} fails too, so every mapper change comes with a plan
+ * expectation.
+ */
+@Slf4j
+@MybatisTest
+@Import({ TestcontainersConfiguration.class })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("QueryPlanTest")
+class QueryPlanTest {
+    private static final int SEED_ROWS = 100_000;
+    private static final String SEED_MARKER = "plan-seed";
+
+    private static final Set<String> INDEX_ACCESS = Set.of("Index Scan", "Index Only Scan", "Bitmap Heap Scan");
+
+    // tables that grow with the business, a seq scan on them is a regression
+    private static final Set<String> LARGE_TABLES = Set.of("products");
+
+    private static final String PRODUCT_MAPPER = "com.sheepion.demo.mapper.ProductMapper.";
+    private static final String STATS_MAPPER = "com.sheepion.demo.mapper.InventoryStatsMapper.";
+    private static final String BULK_JOB_MAPPER = "com.sheepion.demo.mapper.BulkJobMapper.";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Resource
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Resource
+    private DataSource dataSource;
+
+    // uuids of seeded rows, used as parameters
+    private final List<String> uuids = new ArrayList<>();
+
+    /**
+     * Seed once per container, outside the test transaction so the rows and the
+     * planner statistics are committed.
+     */
+    @BeforeAll
+    void seed() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT COUNT(*) FROM products WHERE description LIKE '" + SEED_MARKER + "%'")) {
+                rs.next();
+                if (rs.getLong(1) < SEED_ROWS) {
+                    log.info("seeding {} products for query plan tests", SEED_ROWS);
+                    // descriptions of a few KB, so some of them are TOASTed like in production
+                    statement.execute("""
+                            INSERT INTO products(uuid, name, description, price, stock_quantity, is_available,
+                                                 created_at, updated_at, deleted)
+                            SELECT gen_random_uuid()::text,
+                                   'product ' || i,
+                                   '%s ' || repeat(md5(i::text), 1 + i %% 100),
+                                   (i %% 100000) / 100.0,
+                                   i %% 1000,
+                                   i %% 10 <> 0,
+                                   now() - (i || ' seconds')::interval,
+                                   now() - (i || ' seconds')::interval,
+                                   i %% 50 = 0
+                            FROM generate_series(1, %d) AS i
+                            """.formatted(SEED_MARKER, SEED_ROWS));
+                    statement.execute("ANALYZE products");
+                }
+            }
+            try (ResultSet rs = statement.executeQuery("""
+                    SELECT uuid FROM products WHERE description LIKE '%s%%' ORDER BY id LIMIT 3 OFFSET %d
+                    """.formatted(SEED_MARKER, SEED_ROWS / 2))) {
+                while (rs.next()) {
+                    uuids.add(rs.getString(1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Plan expectations, one per mapped statement.
+     */
+    Stream<Expectation> expectations() {
+        return Stream.of(
+                // DML
+                Expectation.of(PRODUCT_MAPPER + "insert", this::newProduct).maxCost(1),
+                Expectation.of(STATS_MAPPER + "fold", () -> null).maxCost(500),
+                // point lookups
+                Expectation.of(PRODUCT_MAPPER + "selectByUuid", () -> uuids.get(0))
+                        .indexOn("products").maxCost(20).maxBuffers(20),
+                Expectation.of(PRODUCT_MAPPER + "selectProjectionByUuid",
+                        () -> params("uuid", uuids.get(0), "projection", ProductProjection.parse("name,price")))
+                        .indexOn("products").maxCost(20).maxBuffers(20),
+                Expectation.of(PRODUCT_MAPPER + "selectVersionsByUuids", () -> params("uuids", uuids))
+                        .indexOn("products").maxCost(50).maxBuffers(40),
+                // stats, a fixed number of rows whatever the product count
+                Expectation.of(STATS_MAPPER + "selectStats", () -> null).maxCost(200).maxBuffers(50),
+                // full scans on purpose, for reconciliation only
+                Expectation.of(STATS_MAPPER + "selectStatsByFullScan", () -> null).allowSeqScan("products"),
+                Expectation.of(STATS_MAPPER + "repairFromFullScan", () -> null).allowSeqScan("products"),
+                Expectation.skip(STATS_MAPPER + "lockProducts", "LOCK TABLE cannot be explained"),
+                // bulk jobs, the job tables stay small, products must go through the primary key
+                Expectation.of(BULK_JOB_MAPPER + "insert", this::newBulkJob).maxCost(1),
+                Expectation.of(BULK_JOB_MAPPER + "selectByUuid", () -> uuids.get(0)).maxCost(200),
+                Expectation.of(BULK_JOB_MAPPER + "selectByStatus", () -> BulkJobStatus.RUNNING).maxCost(500),
+                Expectation.of(BULK_JOB_MAPPER + "updateStatus", this::newBulkJob).maxCost(100),
+                Expectation.of(BULK_JOB_MAPPER + "complete", this::newBulkJob).maxCost(200),
+                Expectation.of(BULK_JOB_MAPPER + "insertChunks", () -> params("jobId", 1L, "chunkSize", 2000))
+                        .maxCost(100),
+                Expectation.of(BULK_JOB_MAPPER + "claimChunk", () -> 1L).maxCost(100),
+                Expectation.of(BULK_JOB_MAPPER + "applyChunk", () -> params("job", newBulkJob(),
+                        "chunk", new BulkJobChunk(1L, 0, 1L, 2001L), "now", LocalDateTime.now()))
+                        .indexOn("products").maxCost(20_000),
+                Expectation.of(BULK_JOB_MAPPER + "markChunkDone",
+                        () -> params("chunk", new BulkJobChunk(1L, 0, 1L, 2001L), "rowsAffected", 0))
+                        .maxCost(100));
+    }
+
+    @Test
+    @DisplayName("every mapped statement should have a plan expectation")
+    void everyStatementShouldHaveExpectation() {
+        Set<String> expected = expectations().map(Expectation::getStatementId).collect(Collectors.toSet());
+        Set<String> missing = new TreeSet<>();
+        for (String statementId : mappedStatementIds()) {
+            if (!expected.contains(statementId)) {
+                missing.add(statementId);
+            }
+        }
+        Assertions.assertTrue(missing.isEmpty(), "statements without plan expectation: " + missing);
+    }
+
+    @ParameterizedTest
+    @MethodSource("expectations")
+    @DisplayName("should keep the expected plan")
+    void shouldKeepExpectedPlan(Expectation expectation) throws Exception {
+        if (expectation.skipReason != null) {
+            log.info("{} skipped: {}", expectation.statementId, expectation.skipReason);
+            return;
+        }
+        MappedStatement statement = sqlSessionFactory.getConfiguration()
+                .getMappedStatement(expectation.statementId);
+        boolean analyze = statement.getSqlCommandType() == SqlCommandType.SELECT;
+        JsonNode plan = explain(statement, expectation.parameter.get(), analyze);
+        log.debug("{} plan: {}", expectation.statementId, plan);
+
+        List<JsonNode> nodes = new ArrayList<>();
+        collectNodes(plan, nodes);
+        for (JsonNode node : nodes) {
+            String relation = node.path("Relation Name").asText(null);
+            if ("Seq Scan".equals(node.path("Node Type").asText()) && LARGE_TABLES.contains(relation)
+                    && !expectation.seqScanAllowed.contains(relation)) {
+                Assertions.fail(expectation.statementId + " seq scans " + relation + ": " + plan);
+            }
+        }
+        for (String relation : expectation.indexOn) {
+            boolean indexed = nodes.stream().anyMatch(node -> INDEX_ACCESS.contains(node.path("Node Type").asText())
+                    && relation.equals(node.path("Relation Name").asText()));
+            Assertions.assertTrue(indexed, expectation.statementId + " lost index access on " + relation + ": " + plan);
+        }
+
+        double cost = plan.path("Total Cost").asDouble();
+        Assertions.assertTrue(cost <= expectation.maxCost,
+                expectation.statementId + " cost " + cost + " over budget " + expectation.maxCost);
+        if (analyze) {
+            long buffers = plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+            Assertions.assertTrue(buffers <= expectation.maxBuffers,
+                    expectation.statementId + " touched " + buffers + " buffers, budget " + expectation.maxBuffers);
+        }
+    }
+
+    private Set<String> mappedStatementIds() {
+        Set<String> ids = new TreeSet<>();
+        // the collection also holds short name aliases, keep the namespaced ids
+        for (Object value : sqlSessionFactory.getConfiguration().getMappedStatements()) {
+            if (value instanceof MappedStatement statement && statement.getId().startsWith("com.sheepion.demo.")) {
+                ids.add(statement.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * @return the root plan node
+     */
+    private JsonNode explain(MappedStatement statement, Object parameter, boolean analyze) throws Exception {
+        BoundSql boundSql = statement.getBoundSql(parameter);
+        String options = analyze ? "ANALYZE, BUFFERS, FORMAT JSON" : "FORMAT JSON";
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement ps = connection.prepareStatement("EXPLAIN (" + options + ") " + boundSql.getSql())) {
+            new DefaultParameterHandler(statement, parameter, boundSql).setParameters(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return objectMapper.readTree(rs.getString(1)).get(0).get("Plan");
+            }
+        }
+    }
+
+    private static void collectNodes(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        for (JsonNode child : node.path("Plans")) {
+            collectNodes(child, nodes);
+        }
+    }
+
+    private Product newProduct() {
+        Product product = Product.builder()
+                .name("Potato")
+                .description("Fresh Potato")
+                .price(Money.parse("10.00"))
+                .stockQuantity(1000)
+                .isAvailable(true)
+                .build();
+        // interceptors don't run for EXPLAIN, fill what they would
+        product.setId(Long.MAX_VALUE);
+        product.setUuid("00000000-0000-0000-0000-000000000000");
+        return product;
+    }
+
+    private BulkJob newBulkJob() {
+        BulkJob job = BulkJob.builder()
+                .id(1L)
+                .type(BulkJobType.REPRICE_PERCENT)
+                .percent(BigDecimal.TEN)
+                .minPrice(Money.parse("100.00"))
+                .chunkSize(2000)
+                .status(BulkJobStatus.RUNNING)
+                .build();
+        job.setUuid("00000000-0000-0000-0000-000000000000");
+        return job;
+    }
+
+    private static MapperMethod.ParamMap<Object> params(Object... keyValues) {
+        MapperMethod.ParamMap<Object> params = new MapperMethod.ParamMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            params.put((String) keyValues[i], keyValues[i + 1]);
+            params.put("param" + (i / 2 + 1), keyValues[i + 1]);
+        }
+        return params;
+    }
+
+    static final class Expectation {
+        private final String statementId;
+        private final Supplier<Object> parameter;
+        private final String skipReason;
+        private final Set<String> indexOn = new TreeSet<>();
+        private final Set<String> seqScanAllowed = new TreeSet<>();
+        private double maxCost = Double.MAX_VALUE;
+        private long maxBuffers = Long.MAX_VALUE;
+
+        private Expectation(String statementId, Supplier<Object> parameter, String skipReason) {
+            this.statementId = statementId;
+            this.parameter = parameter;
+            this.skipReason = skipReason;
+        }
+
+        static Expectation of(String statementId, Supplier<Object> parameter) {
+            return new Expectation(statementId, parameter, null);
+        }
+
+        static Expectation skip(String statementId, String reason) {
+            return new Expectation(statementId, () -> null, reason);
+        }
+
+        Expectation indexOn(String relation) {
+            indexOn.add(relation);
+            return this;
+        }
+
+        Expectation allowSeqScan(String relation) {
+            seqScanAllowed.add(relation);
+            return this;
+        }
+
+        Expectation maxCost(double maxCost) {
+            this.maxCost = maxCost;
+            return this;
+        }
+
+        Expectation maxBuffers(long maxBuffers) {
+            this.maxBuffers = maxBuffers;
+            return this;
+        }
+
+        String getStatementId() {
+            return statementId;
+        }
+
+        @Override
+        public String toString() {
+            // display name of the parameterized test
+            return statementId.substring(statementId.lastIndexOf('.', statementId.lastIndexOf('.') - 1) + 1);
+        }
+    }
+}
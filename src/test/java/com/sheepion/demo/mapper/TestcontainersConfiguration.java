@@ -1,6 +1,8 @@
 package com.sheepion.demo.mapper;
 
+import com.sheepion.demo.config.IdGeneratorConfig;
 import com.sheepion.demo.interceptor.AutoFillTimeInterceptor;
+import com.sheepion.demo.interceptor.AutoIdInterceptor;
 import com.sheepion.demo.interceptor.AutoUuidInterceptor;
 
 import org.springframework.boot.test.context.TestConfiguration;
@@ -10,7 +12,7 @@ import org.springframework.context.annotation.Import;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.utility.DockerImageName;
 
-@Import({AutoUuidInterceptor.class, AutoFillTimeInterceptor.class})
+@Import({AutoUuidInterceptor.class, AutoFillTimeInterceptor.class, AutoIdInterceptor.class, IdGeneratorConfig.class})
 @TestConfiguration(proxyBeanMethods = false)
 class TestcontainersConfiguration {
     
@@ -21,7 +23,9 @@ class TestcontainersConfiguration {
                 .withDatabaseName("demo")
                 .withUsername("root")
                 .withPassword("root")
-                .withUrlParam("currentSchema", "demo");
+                .withUrlParam("currentSchema", "demo")
+                // same as spring.datasource.url, see MoneyTypeHandler
+                .withUrlParam("binaryTransferDisable", "NUMERIC");
     }
     
 }
@@ -1,10 +1,10 @@
 package com.sheepion.demo.mapper.data;
 
-import java.math.BigDecimal;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.params.provider.Arguments;
 
+import com.sheepion.demo.common.Money;
 import com.sheepion.demo.model.Product;
 
 public final class ProductTestData {
@@ -19,14 +19,14 @@ public final class ProductTestData {
             Arguments.of(Product.builder()
                 .name("Potato")
                 .description("Fresh Potato")
-                .price(BigDecimal.valueOf(10))
+                .price(Money.parse("10"))
                 .stockQuantity(1000)
                 .isAvailable(true)
                 .build()),
             Arguments.of(Product.builder()
                 .name("Apple")
                 .description("Fresh Apple")
-                .price(BigDecimal.valueOf(3.51))
+                .price(Money.parse("3.51"))
                 .stockQuantity(200)
                 .isAvailable(false)
                 .build())
@@ -42,7 +42,7 @@ public final class ProductTestData {
             Arguments.of(Product.builder()
                 .name(null)
                 .description("Fresh Potato")
-                .price(BigDecimal.valueOf(10))
+                .price(Money.parse("10"))
                 .stockQuantity(1000)
                 .isAvailable(true)
                 .build()),
@@ -66,7 +66,7 @@ public final class ProductTestData {
             Arguments.of(Product.builder()
                 .name("Tomato")
                 .description("Red Tomato")
-                .price(BigDecimal.valueOf(2.35))
+                .price(Money.parse("2.35"))
                 .stockQuantity(null)
                 .isAvailable(true)
                 .build()),
@@ -74,7 +74,7 @@ public final class ProductTestData {
             Arguments.of(Product.builder()
                 .name("Cucumber")
                 .description("Green Cucumber")
-                .price(BigDecimal.valueOf(1.80))
+                .price(Money.parse("1.80"))
                 .stockQuantity(20)
                 .isAvailable(null)
                 .build()),
@@ -82,7 +82,7 @@ public final class ProductTestData {
             Arguments.of(Product.builder()
                 .name("Banana")
                 .description("Yellow Banana")
-                .price(BigDecimal.valueOf(4.20))
+                .price(Money.parse("4.20"))
                 .stockQuantity(null)
                 .isAvailable(null)
                 .build())
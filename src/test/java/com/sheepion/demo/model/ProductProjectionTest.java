@@ -0,0 +1,42 @@
+package com.sheepion.demo.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@DisplayName("ProductProjectionTest")
+class ProductProjectionTest {
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = { " ", "uuid,name,description,price,stockQuantity,isAvailable,createdAt,updatedAt" })
+    @DisplayName("should return all fields when blank or complete")
+    void shouldReturnAll_whenBlankOrComplete(String fields) {
+        Assertions.assertSame(ProductProjection.ALL, ProductProjection.parse(fields));
+    }
+
+    @Test
+    @DisplayName("should build columns in declaration order and always include uuid")
+    void shouldBuildColumns() {
+        ProductProjection projection = ProductProjection.parse(" stockQuantity, name ,price,");
+        Assertions.assertEquals("uuid, name, price, stock_quantity", projection.getColumns());
+        Assertions.assertTrue(projection.contains(ProductField.UUID));
+        Assertions.assertFalse(projection.contains(ProductField.DESCRIPTION));
+    }
+
+    @Test
+    @DisplayName("should share one instance per unique projection")
+    void shouldShareInstance() {
+        Assertions.assertSame(ProductProjection.parse("name,price"), ProductProjection.parse("price,name,uuid"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "id", "deleted", "name;DROP TABLE products", "Name" })
+    @DisplayName("should throw exception when field is unknown")
+    void shouldThrowException_whenFieldIsUnknown(String fields) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ProductProjection.parse(fields));
+    }
+}
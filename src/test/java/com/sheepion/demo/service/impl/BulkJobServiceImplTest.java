@@ -0,0 +1,118 @@
+package com.sheepion.demo.service.impl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import com.sheepion.demo.dto.BulkJobCreateDto;
+import com.sheepion.demo.job.BulkJobProperties;
+import com.sheepion.demo.job.BulkJobRunner;
+import com.sheepion.demo.job.BulkJobSubmittedEvent;
+import com.sheepion.demo.mapper.BulkJobMapper;
+import com.sheepion.demo.model.BulkJob;
+import com.sheepion.demo.model.BulkJobStatus;
+
+import io.github.linpeilie.Converter;
+
+// specify the beans we need,
+// to boosting the test performance and avoid datasource connection
+@SpringBootTest(classes = { BulkJobServiceImpl.class, BulkJobProperties.class, Converter.class })
+@RecordApplicationEvents
+class BulkJobServiceImplTest {
+    // spy bean, to use the real implementation of Converter (from mapstruct plus)
+    @MockitoSpyBean
+    private Converter converter;
+
+    // mocked bean, to simulate the database operations
+    @MockitoBean
+    private BulkJobMapper bulkJobMapper;
+
+    @MockitoBean
+    private BulkJobRunner bulkJobRunner;
+
+    @Autowired
+    private BulkJobServiceImpl bulkJobService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private static BulkJob job(BulkJobStatus status) {
+        BulkJob job = BulkJob.builder().id(1L).status(status).build();
+        job.setUuid("test-uuid-12345");
+        return job;
+    }
+
+    @Nested
+    @DisplayName("submitJobTest")
+    class SubmitTests {
+        @ParameterizedTest
+        @MethodSource("com.sheepion.demo.service.impl.data.BulkJobDtoData#validBulkJobCreateDtos")
+        void shouldInsertChunksAndPublishEvent_whenSuccess(BulkJobCreateDto params) {
+            // simulate the database generated id and the uuid interceptor
+            Mockito.doAnswer(invocation -> {
+                BulkJob job = invocation.getArgument(0);
+                job.setId(1L);
+                job.setUuid("test-uuid-12345");
+                return 1;
+            }).when(bulkJobMapper).insert(Mockito.any(BulkJob.class));
+
+            String uuid = bulkJobService.submitJob(params);
+
+            Assertions.assertEquals("test-uuid-12345", uuid);
+            // default chunk size from BulkJobProperties
+            Mockito.verify(bulkJobMapper).insertChunks(1L, 2_000);
+            BulkJob submitted = events.stream(BulkJobSubmittedEvent.class).findFirst().orElseThrow().getJob();
+            Assertions.assertEquals(BulkJobStatus.PENDING, submitted.getStatus());
+            Assertions.assertEquals(params.getType(), submitted.getType());
+            // started by the event listener after commit, not inside the transaction
+            Mockito.verifyNoInteractions(bulkJobRunner);
+        }
+
+        @ParameterizedTest
+        @MethodSource("com.sheepion.demo.service.impl.data.BulkJobDtoData#invalidFieldBulkJobCreateDtos")
+        void shouldThrowException_whenValidationFail(BulkJobCreateDto params) {
+            Assertions.assertThrows(IllegalArgumentException.class, () -> bulkJobService.submitJob(params));
+
+            Mockito.verifyNoInteractions(bulkJobMapper);
+            Assertions.assertEquals(0, events.stream(BulkJobSubmittedEvent.class).count());
+        }
+    }
+
+    @Nested
+    @DisplayName("resumeJobTest")
+    class ResumeTests {
+        @Test
+        void shouldStartJob_whenFailed() {
+            BulkJob job = job(BulkJobStatus.FAILED);
+            Mockito.when(bulkJobMapper.selectByUuid(job.getUuid())).thenReturn(job);
+
+            Assertions.assertNotNull(bulkJobService.resumeJob(job.getUuid()));
+            Mockito.verify(bulkJobRunner).start(job);
+        }
+
+        @Test
+        void shouldThrowException_whenNotFailed() {
+            BulkJob job = job(BulkJobStatus.RUNNING);
+            Mockito.when(bulkJobMapper.selectByUuid(job.getUuid())).thenReturn(job);
+
+            Assertions.assertThrows(IllegalStateException.class, () -> bulkJobService.resumeJob(job.getUuid()));
+            Mockito.verifyNoInteractions(bulkJobRunner);
+        }
+
+        @Test
+        void shouldReturnNull_whenNotFound() {
+            Assertions.assertNull(bulkJobService.resumeJob("missing"));
+            Mockito.verifyNoInteractions(bulkJobRunner);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.sheepion.demo.service.impl;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mockito;
@@ -11,9 +12,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sheepion.demo.cache.ProductCache;
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.config.BootObjectMapper;
 import com.sheepion.demo.dto.ProductCreateDto;
+import com.sheepion.demo.hotkey.HotKeyTracker;
+import com.sheepion.demo.mapper.InventoryStatsMapper;
 import com.sheepion.demo.mapper.ProductMapper;
+import com.sheepion.demo.model.InventoryStats;
 import com.sheepion.demo.model.Product;
+import com.sheepion.demo.model.ProductProjection;
+import com.sheepion.demo.vo.InventoryStatsVo;
+import com.sheepion.demo.vo.ProductProjectionVo;
+import com.sheepion.demo.vo.ProductVo;
 
 import io.github.linpeilie.Converter;
 import lombok.extern.slf4j.Slf4j;
@@ -31,9 +44,20 @@ class ProductServiceImplTest {
     @MockitoBean
     private ProductMapper productMapper;
 
+    @MockitoBean
+    private InventoryStatsMapper inventoryStatsMapper;
+
+    @MockitoBean
+    private HotKeyTracker hotKeyTracker;
+
+    @MockitoBean
+    private ProductCache productCache;
+
     @Autowired
     private ProductServiceImpl productService;
 
+    private final ObjectMapper objectMapper = BootObjectMapper.builder().build();
+
     @Nested
     @DisplayName("createProductTest")
     class CreateTests {
@@ -79,4 +103,111 @@ class ProductServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("getProductByUuidTest")
+    class GetTests {
+        private static final String UUID = "test-uuid-12345";
+
+        @Test
+        @DisplayName("should not read the database when the product is cached")
+        void shouldSkipDatabase_whenCached() {
+            Product product = Product.builder().name("Potato").price(Money.parse("3.50")).build();
+            product.setUuid(UUID);
+            Mockito.when(productCache.get(UUID)).thenReturn(product);
+
+            ProductVo productVo = productService.getProductByUuid(UUID);
+
+            Assertions.assertEquals("Potato", productVo.getName());
+            Mockito.verify(productMapper, Mockito.never()).selectByUuid(Mockito.anyString());
+            Mockito.verify(productCache, Mockito.never()).put(Mockito.any());
+        }
+
+        @Test
+        @DisplayName("should cache the product read on a miss")
+        void shouldPutInCache_whenMissed() {
+            Product product = Product.builder().name("Potato").price(Money.parse("3.50")).build();
+            product.setUuid(UUID);
+            Mockito.when(productMapper.selectByUuid(UUID)).thenReturn(product);
+
+            ProductVo productVo = productService.getProductByUuid(UUID);
+
+            Assertions.assertEquals("Potato", productVo.getName());
+            Mockito.verify(productCache).put(product);
+        }
+
+        @Test
+        @DisplayName("should send fields without a value as null")
+        void shouldKeepNulls_whenFullRead() {
+            Product product = Product.builder().name("Potato").price(Money.parse("3.50")).build();
+            product.setUuid(UUID);
+            Mockito.when(productMapper.selectByUuid(UUID)).thenReturn(product);
+
+            ProductVo productVo = productService.getProductByUuid(UUID, "");
+
+            Assertions.assertEquals(ProductVo.class, productVo.getClass());
+            JsonNode json = objectMapper.valueToTree(productVo);
+            Assertions.assertEquals("3.50", json.get("price").textValue());
+            Assertions.assertTrue(json.get("description").isNull());
+        }
+
+        @Test
+        @DisplayName("should leave fields not requested out of the response")
+        void shouldOmitFields_whenProjected() {
+            Product product = Product.builder().name("Potato").price(Money.parse("3.50")).build();
+            Mockito.when(productMapper.selectProjectionByUuid(Mockito.eq(UUID), Mockito.any(ProductProjection.class)))
+                    .thenReturn(product);
+
+            ProductVo productVo = productService.getProductByUuid(UUID, "name,price");
+
+            Assertions.assertInstanceOf(ProductProjectionVo.class, productVo);
+            JsonNode json = objectMapper.valueToTree(productVo);
+            Assertions.assertEquals("Potato", json.get("name").textValue());
+            Assertions.assertEquals("3.50", json.get("price").textValue());
+            Assertions.assertEquals(2, json.size());
+        }
+
+        @Test
+        @DisplayName("should project a cached product without reading the database")
+        void shouldProjectFromCache_whenCached() {
+            Product product = Product.builder()
+                    .name("Potato")
+                    .description("Fresh Potato")
+                    .price(Money.parse("3.50"))
+                    .stockQuantity(10)
+                    .build();
+            product.setUuid(UUID);
+            Mockito.when(productCache.get(UUID)).thenReturn(product);
+
+            ProductVo productVo = productService.getProductByUuid(UUID, "name,price");
+
+            Assertions.assertInstanceOf(ProductProjectionVo.class, productVo);
+            JsonNode json = objectMapper.valueToTree(productVo);
+            Assertions.assertEquals(UUID, json.get("uuid").textValue());
+            Assertions.assertEquals("Potato", json.get("name").textValue());
+            Assertions.assertEquals("3.50", json.get("price").textValue());
+            Assertions.assertEquals(3, json.size());
+            Mockito.verifyNoInteractions(productMapper);
+            // the cached product itself is left whole
+            Assertions.assertEquals("Fresh Potato", product.getDescription());
+        }
+    }
+
+    @Nested
+    @DisplayName("getInventoryStatsTest")
+    class InventoryStatsTests {
+        @Test
+        @DisplayName("should return the stats with the stock value as money")
+        void shouldConvertCentsToMoney() {
+            Mockito.when(inventoryStatsMapper.selectStats()).thenReturn(InventoryStats.builder()
+                    .productCount(3L)
+                    .availableCount(2L)
+                    .totalStock(1200L)
+                    .stockValueCents(1_070_205L)
+                    .build());
+
+            InventoryStatsVo stats = productService.getInventoryStats();
+
+            Assertions.assertEquals(new InventoryStatsVo(3L, 2L, 1200L, Money.parse("10702.05")), stats);
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package com.sheepion.demo.service.impl.data;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.provider.Arguments;
+
+import com.sheepion.demo.common.Money;
+import com.sheepion.demo.dto.BulkJobCreateDto;
+import com.sheepion.demo.model.BulkJobType;
+
+public final class BulkJobDtoData {
+    private BulkJobDtoData() {
+    }
+
+    public static Stream<Arguments> validBulkJobCreateDtos() {
+        return Stream.of(
+                Arguments.of(BulkJobCreateDto.builder()
+                        .type(BulkJobType.REPRICE_PERCENT)
+                        .percent(BigDecimal.valueOf(-10))
+                        .minPrice(Money.parse("1.00"))
+                        .build()),
+                Arguments.of(BulkJobCreateDto.builder()
+                        .type(BulkJobType.REPRICE_ABSOLUTE)
+                        .amount(Money.parse("-1.50"))
+                        .build()),
+                Arguments.of(BulkJobCreateDto.builder()
+                        .type(BulkJobType.SET_AVAILABILITY)
+                        .available(false)
+                        .filterAvailable(true)
+                        .build()));
+    }
+
+    /**
+     * invalid create dtos.
+     * - type: not null
+     * - percent: required by REPRICE_PERCENT, min -100
+     * - amount: required by REPRICE_ABSOLUTE
+     * - available: required by SET_AVAILABILITY
+     * - chunkSize: min 1
+     * 
+     * @return
+     */
+    public static Stream<Arguments> invalidFieldBulkJobCreateDtos() {
+        return Stream.of(
+                // type
+                Arguments.of(BulkJobCreateDto.builder()
+                        .percent(BigDecimal.TEN)
+                        .build()),
+                // percent
+                Arguments.of(BulkJobCreateDto.builder()
+                        .type(BulkJobType.REPRICE_PERCENT)
+                        .build()),
+                Arguments.of(BulkJobCreateDto.builder()
+                        .type(BulkJobType.REPRICE_PERCENT)
+                        .percent(BigDecimal.valueOf(-100.01))
+                        .build()),
+                // amount
+                Arguments.of(BulkJobCreateDto.builder()
+                        .type(BulkJobType.REPRICE_ABSOLUTE)
+                        .percent(BigDecimal.TEN)
+                        .build()),
+                // available
+                Arguments.of(BulkJobCreateDto.builder()
+                        .type(BulkJobType.SET_AVAILABILITY)
+                        .filterAvailable(true)
+                        .build()),
+                // chunk size
+                Arguments.of(BulkJobCreateDto.builder()
+                        .type(BulkJobType.SET_AVAILABILITY)
+                        .available(true)
+                        .chunkSize(0)
+                        .build()));
+    }
+}
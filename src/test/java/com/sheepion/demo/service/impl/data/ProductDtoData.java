@@ -4,6 +4,7 @@ import java.util.stream.Stream;
 
 import org.junit.jupiter.params.provider.Arguments;
 
+import com.sheepion.demo.common.Money;
 import com.sheepion.demo.dto.ProductCreateDto;
 
 public final class ProductDtoData {
@@ -15,14 +16,14 @@ public final class ProductDtoData {
                 Arguments.of(ProductCreateDto.builder()
                         .name("Potato")
                         .description("Fresh Potato")
-                        .price("10.00")
+                        .price(Money.parse("10.00"))
                         .stockQuantity(1000)
                         .isAvailable(true)
                         .build()),
                 Arguments.of(ProductCreateDto.builder()
                         .name("Apple")
                         .description("Fresh Apple")
-                        .price("3.51")
+                        .price(Money.parse("3.51"))
                         .stockQuantity(200)
                         .isAvailable(false)
                         .build()));
@@ -42,7 +43,7 @@ public final class ProductDtoData {
                 Arguments.of(ProductCreateDto.builder()
                         .name(null)
                         .description("Fresh Potato")
-                        .price("10.00")
+                        .price(Money.parse("10.00"))
                         .stockQuantity(1000)
                         .isAvailable(true)
                         .build()),
@@ -58,7 +59,7 @@ public final class ProductDtoData {
                 Arguments.of(ProductCreateDto.builder()
                         .name("Potato")
                         .description("Fresh Potato")
-                        .price("-1")
+                        .price(Money.parse("-1"))
                         .stockQuantity(1000)
                         .isAvailable(true)
                         .build())
@@ -67,14 +68,14 @@ public final class ProductDtoData {
                 , Arguments.of(ProductCreateDto.builder()
                         .name("Potato")
                         .description("Fresh Potato")
-                        .price("10.00")
+                        .price(Money.parse("10.00"))
                         .stockQuantity(null)
                         .isAvailable(true)
                         .build()),
                 Arguments.of(ProductCreateDto.builder()
                         .name("Potato")
                         .description("Fresh Potato")
-                        .price("10.00")
+                        .price(Money.parse("10.00"))
                         .stockQuantity(-1)
                         .isAvailable(true)
                         .build()));